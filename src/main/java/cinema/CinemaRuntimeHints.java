@@ -0,0 +1,32 @@
+package cinema;
+
+import cinema.model.Seat;
+import cinema.service.TicketManagementSystem;
+import cinema.web.SessionView;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Подсказки для нативного образа GraalVM (профиль {@code native}).
+ * <p>
+ * Для рефлексии регистрируются только типы, которые контроллеры отдают в JSON
+ * ({@link SessionView} и {@link Seat}), вместе с типами их свойств. Сущности
+ * модели наружу не сериализуются, и их метаданные в образ не попадают.
+ */
+public class CinemaRuntimeHints implements RuntimeHintsRegistrar {
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), SessionView.class, Seat.class);
+
+        // Сервис создается контекстом Spring и вызывается из контроллеров
+        hints.reflection().registerType(TicketManagementSystem.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Необязательная настройка slf4j-simple читается как ресурс из classpath
+        hints.resources().registerPattern("simplelogger.properties");
+    }
+}
@@ -0,0 +1,32 @@
+package cinema.analytics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Материализованный агрегат заполняемости, обновляемый при каждом изменении статуса места
+ */
+class OccupancyAggregate {
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder capacity = new LongAdder();
+    private final LongAdder sold = new LongAdder();
+    private final LongAdder reserved = new LongAdder();
+
+    void addSession(SessionCounters counters) {
+        sessions.increment();
+        capacity.add(counters.getCapacity());
+        sold.add(counters.getSold());
+        reserved.add(counters.getReserved());
+    }
+
+    void addSold(int delta) {
+        sold.add(delta);
+    }
+
+    void addReserved(int delta) {
+        reserved.add(delta);
+    }
+
+    OccupancyReport toReport() {
+        return new OccupancyReport(sessions.sum(), capacity.sum(), sold.sum(), reserved.sum());
+    }
+}
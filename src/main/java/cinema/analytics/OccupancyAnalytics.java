@@ -0,0 +1,177 @@
+package cinema.analytics;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatStatus;
+import cinema.model.SeatStatusListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Аналитика заполняемости и продаж по всем сеансам.
+ * <p>
+ * Агрегаты по фильмам, залам и временным слотам материализуются и обновляются
+ * инкрементально при каждом изменении статуса места, поэтому их можно читать
+ * без остановки продаж. Произвольные группировки считаются параллельно
+ * по компактным счетчикам сеансов.
+ */
+public class OccupancyAnalytics implements SeatStatusListener {
+    private final Clock clock;                                                 // Часы для кривых продаж
+    private final long bucketMillis;                                           // Размер интервала кривой продаж
+    private final Map<String, SessionCounters> counters;                       // Счетчики сеансов (id -> счетчики)
+    private final Map<String, OccupancyAggregate> byMovie;                     // Агрегаты по фильмам
+    private final Map<String, OccupancyAggregate> byTheater;                   // Агрегаты по залам
+    private final Map<LocalTime, OccupancyAggregate> byTimeSlot;               // Агрегаты по временным слотам
+    private final Map<String, ConcurrentSkipListMap<Long, LongAdder>> sales;   // Продажи по интервалам (id -> время -> дельта)
+
+    public OccupancyAnalytics() {
+        this(Clock.systemDefaultZone(), Duration.ofMinutes(1));
+    }
+
+    public OccupancyAnalytics(Clock clock, Duration bucket) {
+        if (clock == null || bucket == null || bucket.toMillis() <= 0) {
+            throw new IllegalArgumentException("Часы и положительный интервал должны быть указаны");
+        }
+        this.clock = clock;
+        this.bucketMillis = bucket.toMillis();
+        this.counters = new ConcurrentHashMap<>();
+        this.byMovie = new ConcurrentHashMap<>();
+        this.byTheater = new ConcurrentHashMap<>();
+        this.byTimeSlot = new ConcurrentHashMap<>();
+        this.sales = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Подключает сеанс к аналитике: учитывает текущее состояние мест и подписывается на изменения
+     */
+    public void register(MovieSession session) {
+        SessionCounters sessionCounters = new SessionCounters(session);
+        if (counters.putIfAbsent(session.getSessionId(), sessionCounters) != null) {
+            throw new IllegalStateException("Сеанс уже зарегистрирован: " + session.getSessionId());
+        }
+        sales.put(session.getSessionId(), new ConcurrentSkipListMap<>());
+        sessionCounters.attach(aggregatesOf(sessionCounters));
+        sessionCounters.aggregates().forEach(aggregate -> aggregate.addSession(sessionCounters));
+        session.addSeatStatusListener(this);
+    }
+
+    @Override
+    public void onSeatStatusChanged(MovieSession session, Seat seat, SeatStatus oldStatus, SeatStatus newStatus) {
+        SessionCounters sessionCounters = counters.get(session.getSessionId());
+        if (sessionCounters == null) {
+            return;
+        }
+        sessionCounters.move(oldStatus, newStatus);
+
+        int soldDelta = delta(SeatStatus.SOLD, oldStatus, newStatus);
+        int reservedDelta = delta(SeatStatus.RESERVED, oldStatus, newStatus);
+        for (OccupancyAggregate aggregate : sessionCounters.aggregates()) {
+            aggregate.addSold(soldDelta);
+            aggregate.addReserved(reservedDelta);
+        }
+
+        if (soldDelta != 0) {
+            long bucket = clock.millis() / bucketMillis * bucketMillis;
+            sales.get(session.getSessionId())
+                    .computeIfAbsent(bucket, key -> new LongAdder())
+                    .add(soldDelta);
+        }
+    }
+
+    /**
+     * Заполняемость по фильмам
+     */
+    public Map<String, OccupancyReport> getOccupancyByMovie() {
+        return snapshot(byMovie);
+    }
+
+    /**
+     * Заполняемость по залам
+     */
+    public Map<String, OccupancyReport> getOccupancyByTheater() {
+        return snapshot(byTheater);
+    }
+
+    /**
+     * Заполняемость по временным слотам (час начала сеанса)
+     */
+    public Map<LocalTime, OccupancyReport> getOccupancyByTimeSlot() {
+        return snapshot(byTimeSlot);
+    }
+
+    /**
+     * Заполняемость конкретного сеанса
+     */
+    public OccupancyReport getSessionOccupancy(String sessionId) {
+        SessionCounters sessionCounters = counters.get(sessionId);
+        if (sessionCounters == null) {
+            throw new IllegalArgumentException("Сеанс не найден: " + sessionId);
+        }
+        return sessionCounters.toReport();
+    }
+
+    /**
+     * Произвольная группировка заполняемости, считается параллельно по счетчикам сеансов
+     *
+     * @param classifier функция, возвращающая ключ группы для сеанса
+     * @return отчеты по группам
+     */
+    public <K> Map<K, OccupancyReport> aggregate(Function<SessionCounters, K> classifier) {
+        ConcurrentMap<K, OccupancyReport> result = counters.values().parallelStream()
+                .collect(Collectors.toConcurrentMap(classifier, SessionCounters::toReport, OccupancyReport::merge));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Кривая продаж сеанса: накопленное количество проданных мест на конец каждого интервала
+     */
+    public NavigableMap<LocalDateTime, Long> getSellThroughCurve(String sessionId) {
+        ConcurrentSkipListMap<Long, LongAdder> sessionSales = sales.get(sessionId);
+        if (sessionSales == null) {
+            throw new IllegalArgumentException("Сеанс не найден: " + sessionId);
+        }
+
+        NavigableMap<LocalDateTime, Long> curve = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Long, LongAdder> entry : sessionSales.entrySet()) {
+            total += entry.getValue().sum();
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getKey()), clock.getZone());
+            curve.put(time, total);
+        }
+        return curve;
+    }
+
+    private List<OccupancyAggregate> aggregatesOf(SessionCounters sessionCounters) {
+        return List.of(
+                byMovie.computeIfAbsent(sessionCounters.getMovieTitle(), key -> new OccupancyAggregate()),
+                byTheater.computeIfAbsent(sessionCounters.getTheaterName(), key -> new OccupancyAggregate()),
+                byTimeSlot.computeIfAbsent(sessionCounters.getTimeSlot(), key -> new OccupancyAggregate())
+        );
+    }
+
+    private static int delta(SeatStatus tracked, SeatStatus oldStatus, SeatStatus newStatus) {
+        return (newStatus == tracked ? 1 : 0) - (oldStatus == tracked ? 1 : 0);
+    }
+
+    private static <K> Map<K, OccupancyReport> snapshot(Map<K, OccupancyAggregate> aggregates) {
+        Map<K, OccupancyReport> result = new HashMap<>();
+        aggregates.forEach((key, aggregate) -> result.put(key, aggregate.toReport()));
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package cinema.analytics;
+
+import lombok.Getter;
+
+/**
+ * Неизменяемый снимок заполняемости для группы сеансов
+ */
+@Getter
+public class OccupancyReport {
+    private final long sessions;    // Количество сеансов в группе
+    private final long capacity;    // Суммарная вместимость
+    private final long sold;        // Продано мест
+    private final long reserved;    // Забронировано мест
+
+    public OccupancyReport(long sessions, long capacity, long sold, long reserved) {
+        this.sessions = sessions;
+        this.capacity = capacity;
+        this.sold = sold;
+        this.reserved = reserved;
+    }
+
+    /**
+     * Доля проданных мест (0..1)
+     */
+    public double getSoldRatio() {
+        return capacity == 0 ? 0 : (double) sold / capacity;
+    }
+
+    /**
+     * Доля занятых мест с учетом броней (0..1)
+     */
+    public double getOccupancy() {
+        return capacity == 0 ? 0 : (double) (sold + reserved) / capacity;
+    }
+
+    OccupancyReport merge(OccupancyReport other) {
+        return new OccupancyReport(sessions + other.sessions, capacity + other.capacity,
+                sold + other.sold, reserved + other.reserved);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Сеансов: %d, мест: %d, продано: %d, забронировано: %d, заполняемость: %.1f%%",
+                sessions, capacity, sold, reserved, getOccupancy() * 100);
+    }
+}
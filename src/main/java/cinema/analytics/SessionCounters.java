@@ -0,0 +1,83 @@
+package cinema.analytics;
+
+import cinema.model.MovieSession;
+import cinema.model.SeatStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Компактные счетчики мест одного сеанса (по статусам)
+ */
+@Getter
+public class SessionCounters {
+    private final String sessionId;           // Идентификатор сеанса
+    private final String movieTitle;          // Название фильма
+    private final String theaterName;         // Название зала
+    private final LocalDateTime dateTime;     // Дата и время сеанса
+    private final int capacity;               // Вместимость зала
+    @Getter(AccessLevel.NONE)
+    private final AtomicIntegerArray counts;  // Количество мест по статусам (индекс - ordinal статуса)
+    @Getter(AccessLevel.NONE)
+    private List<OccupancyAggregate> aggregates = List.of();  // Агрегаты, в которые входит сеанс
+
+    SessionCounters(MovieSession session) {
+        this.sessionId = session.getSessionId();
+        this.movieTitle = session.getMovieTitle();
+        this.theaterName = session.getTheater().getName();
+        this.dateTime = session.getDateTime();
+        this.capacity = session.getTheater().getCapacity();
+        this.counts = new AtomicIntegerArray(SeatStatus.values().length);
+        for (SeatStatus status : SeatStatus.values()) {
+            counts.set(status.ordinal(), session.countSeats(status));
+        }
+    }
+
+    List<OccupancyAggregate> aggregates() {
+        return aggregates;
+    }
+
+    void attach(List<OccupancyAggregate> aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    void move(SeatStatus oldStatus, SeatStatus newStatus) {
+        counts.decrementAndGet(oldStatus.ordinal());
+        counts.incrementAndGet(newStatus.ordinal());
+    }
+
+    /**
+     * Временной слот сеанса (час начала)
+     */
+    public LocalTime getTimeSlot() {
+        return dateTime.toLocalTime().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    public int getCount(SeatStatus status) {
+        return counts.get(status.ordinal());
+    }
+
+    public int getSold() {
+        return getCount(SeatStatus.SOLD);
+    }
+
+    public int getReserved() {
+        return getCount(SeatStatus.RESERVED);
+    }
+
+    public int getFree() {
+        return getCount(SeatStatus.FREE);
+    }
+
+    /**
+     * Снимок счетчиков в виде отчета
+     */
+    public OccupancyReport toReport() {
+        return new OccupancyReport(1, capacity, getSold(), getReserved());
+    }
+}
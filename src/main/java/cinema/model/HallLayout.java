@@ -0,0 +1,259 @@
+package cinema.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Неизменяемая схема зала произвольной формы.
+ * <p>
+ * Все места зала пронумерованы плотным индексом 0..capacity-1: ряд занимает
+ * непрерывный отрезок индексов, начало которого хранится в {@code rowOffsets}.
+ * Проходы и отсутствующие кресла в индекс не попадают, а учитываются через
+ * позицию места в ряду. Проверка места и поиск соседей выполняются за O(1).
+ * Схема не зависит от сеанса и разделяется всеми сеансами зала.
+ * <p>
+ * Текстовый формат схемы ({@link #parse(String...)}): одна строка на ряд,
+ * {@code s} - обычное место, {@code c} - комфорт, {@code v} - VIP,
+ * {@code w} - место для коляски, {@code _} - проход или отсутствующее кресло.
+ */
+@Getter
+public class HallLayout {
+    private static final SeatCategory[] CATEGORIES = SeatCategory.values();
+    private static final SeatKind[] KINDS = SeatKind.values();
+
+    private final int rows;               // Количество рядов
+    private final int capacity;           // Количество мест в зале
+    private final int width;              // Ширина схемы в позициях (с учетом проходов)
+    private final int maxRowLength;       // Максимальное количество мест в ряду
+    @Getter(AccessLevel.NONE)
+    private final int[] rowOffsets;       // Индекс первого места каждого ряда (rows + 1 элементов)
+    @Getter(AccessLevel.NONE)
+    private final int[] positions;        // Позиция места в ряду (с учетом проходов) по индексу
+    @Getter(AccessLevel.NONE)
+    private final byte[] categories;      // Категории мест по индексу (ordinal категории)
+    @Getter(AccessLevel.NONE)
+    private final byte[] kinds;           // Типы мест по индексу (ordinal типа)
+    @Getter(AccessLevel.NONE)
+    private final Seat[] seats;           // Места по индексу
+
+    private HallLayout(int[] rowOffsets, int[] positions, byte[] categories, byte[] kinds) {
+        this.rows = rowOffsets.length - 1;
+        this.capacity = rowOffsets[rows];
+        if (rows <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Схема зала должна содержать хотя бы одно место");
+        }
+        this.rowOffsets = rowOffsets;
+        this.positions = positions;
+        this.categories = categories;
+        this.kinds = kinds;
+        this.seats = new Seat[capacity];
+
+        int maxLength = 0;
+        int maxPosition = 0;
+        for (int row = 1; row <= rows; row++) {
+            int from = rowOffsets[row - 1];
+            int length = rowOffsets[row] - from;
+            maxLength = Math.max(maxLength, length);
+            for (int i = 0; i < length; i++) {
+                seats[from + i] = new Seat(row, i + 1);
+                maxPosition = Math.max(maxPosition, positions[from + i]);
+            }
+        }
+        this.maxRowLength = maxLength;
+        this.width = maxPosition + 1;
+    }
+
+    /**
+     * Прямоугольная схема: {@code rows} рядов по {@code seatsPerRow} обычных мест
+     */
+    public static HallLayout rectangular(int rows, int seatsPerRow) {
+        if (rows <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Количество рядов и мест должно быть положительным");
+        }
+        int capacity = rows * seatsPerRow;
+        int[] rowOffsets = new int[rows + 1];
+        int[] positions = new int[capacity];
+        for (int row = 0; row <= rows; row++) {
+            rowOffsets[row] = row * seatsPerRow;
+        }
+        for (int i = 0; i < capacity; i++) {
+            positions[i] = i % seatsPerRow;
+        }
+        return new HallLayout(rowOffsets, positions, new byte[capacity], new byte[capacity]);
+    }
+
+    /**
+     * Схема из покомпонентного описания (например, при восстановлении из журнала изменений)
+     *
+     * @param rowLengths количество мест в каждом ряду
+     * @param positions позиции мест в ряду с учетом проходов, по индексу места (в ряду строго возрастают)
+     * @param categories категории мест по индексу
+     * @param kinds типы мест по индексу
+     */
+    public static HallLayout of(int[] rowLengths, int[] positions, SeatCategory[] categories, SeatKind[] kinds) {
+        if (rowLengths == null || positions == null || categories == null || kinds == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        int[] rowOffsets = new int[rowLengths.length + 1];
+        for (int row = 0; row < rowLengths.length; row++) {
+            if (rowLengths[row] < 0) {
+                throw new IllegalArgumentException("Неверная длина ряда " + (row + 1) + ": " + rowLengths[row]);
+            }
+            rowOffsets[row + 1] = rowOffsets[row] + rowLengths[row];
+        }
+        int capacity = rowOffsets[rowLengths.length];
+        if (positions.length != capacity || categories.length != capacity || kinds.length != capacity) {
+            throw new IllegalArgumentException("Размеры описания схемы не совпадают с количеством мест");
+        }
+
+        byte[] categoryOrdinals = new byte[capacity];
+        byte[] kindOrdinals = new byte[capacity];
+        for (int row = 0; row < rowLengths.length; row++) {
+            for (int i = rowOffsets[row]; i < rowOffsets[row + 1]; i++) {
+                boolean ordered = i == rowOffsets[row] ? positions[i] >= 0 : positions[i] > positions[i - 1];
+                if (!ordered || categories[i] == null || kinds[i] == null) {
+                    throw new IllegalArgumentException("Неверное описание места с индексом " + i);
+                }
+                categoryOrdinals[i] = (byte) categories[i].ordinal();
+                kindOrdinals[i] = (byte) kinds[i].ordinal();
+            }
+        }
+        return new HallLayout(rowOffsets, positions.clone(), categoryOrdinals, kindOrdinals);
+    }
+
+    /**
+     * Схема из текстового описания рядов (см. описание класса)
+     */
+    public static HallLayout parse(String... rowPatterns) {
+        if (rowPatterns == null || rowPatterns.length == 0) {
+            throw new IllegalArgumentException("Схема зала не может быть пустой");
+        }
+        int[] rowOffsets = new int[rowPatterns.length + 1];
+        int total = 0;
+        for (int row = 0; row < rowPatterns.length; row++) {
+            if (rowPatterns[row] == null) {
+                throw new IllegalArgumentException("Пустой ряд в схеме: " + (row + 1));
+            }
+            rowOffsets[row] = total;
+            total += (int) rowPatterns[row].chars().filter(ch -> ch != '_').count();
+        }
+        rowOffsets[rowPatterns.length] = total;
+
+        int[] positions = new int[total];
+        byte[] categories = new byte[total];
+        byte[] kinds = new byte[total];
+        int index = 0;
+        for (int row = 0; row < rowPatterns.length; row++) {
+            String pattern = rowPatterns[row];
+            for (int position = 0; position < pattern.length(); position++) {
+                char symbol = pattern.charAt(position);
+                if (symbol == '_') {
+                    continue;
+                }
+                SeatCategory category = switch (symbol) {
+                    case 's', 'w' -> SeatCategory.STANDARD;
+                    case 'c' -> SeatCategory.COMFORT;
+                    case 'v' -> SeatCategory.VIP;
+                    default -> throw new IllegalArgumentException(
+                            "Неизвестный символ схемы '" + symbol + "' в ряду " + (row + 1));
+                };
+                positions[index] = position;
+                categories[index] = (byte) category.ordinal();
+                kinds[index] = (byte) (symbol == 'w' ? SeatKind.WHEELCHAIR : SeatKind.REGULAR).ordinal();
+                index++;
+            }
+        }
+        return new HallLayout(rowOffsets, positions, categories, kinds);
+    }
+
+    /**
+     * Копия схемы с другими категориями рядов (позиции мест не меняются)
+     */
+    public HallLayout withRowCategory(int row, SeatCategory category) {
+        if (row < 1 || row > rows || category == null) {
+            throw new IllegalArgumentException("Неверная категория ряда: " + row + " -> " + category);
+        }
+        byte[] newCategories = categories.clone();
+        Arrays.fill(newCategories, rowOffsets[row - 1], rowOffsets[row], (byte) category.ordinal());
+        return new HallLayout(rowOffsets, positions, newCategories, kinds);
+    }
+
+    /**
+     * Количество мест в ряду (0 для несуществующего ряда)
+     */
+    public int getRowLength(int row) {
+        if (row < 1 || row > rows) {
+            return 0;
+        }
+        return rowOffsets[row] - rowOffsets[row - 1];
+    }
+
+    /**
+     * Индекс места или -1, если такого места в зале нет
+     */
+    public int indexOf(int row, int number) {
+        if (row < 1 || row > rows || number < 1) {
+            return -1;
+        }
+        int index = rowOffsets[row - 1] + number - 1;
+        return index < rowOffsets[row] ? index : -1;
+    }
+
+    /**
+     * Индекс места или -1, если такого места в зале нет
+     */
+    public int indexOf(Seat seat) {
+        return indexOf(seat.getRow(), seat.getNumber());
+    }
+
+    /**
+     * Место по индексу
+     */
+    public Seat seatAt(int index) {
+        return seats[index];
+    }
+
+    /**
+     * Позиция места в ряду с учетом проходов (от 0)
+     */
+    public int positionOf(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Индекс соседнего места слева или -1, если слева проход или край ряда
+     */
+    public int leftNeighbour(int index) {
+        int left = index - 1;
+        boolean sameRow = seats[index].getNumber() > 1;
+        return sameRow && positions[left] == positions[index] - 1 ? left : -1;
+    }
+
+    /**
+     * Индекс соседнего места справа или -1, если справа проход или край ряда
+     */
+    public int rightNeighbour(int index) {
+        int right = index + 1;
+        boolean sameRow = right < capacity && seats[right].getRow() == seats[index].getRow();
+        return sameRow && positions[right] == positions[index] + 1 ? right : -1;
+    }
+
+    public SeatCategory getCategory(int index) {
+        return CATEGORIES[categories[index]];
+    }
+
+    public SeatKind getKind(int index) {
+        return KINDS[kinds[index]];
+    }
+
+    /**
+     * Все места зала в порядке индексов
+     */
+    public List<Seat> getSeats() {
+        return new ArrayList<>(Arrays.asList(seats));
+    }
+}
@@ -1,76 +1,266 @@
 package cinema.model;
 
+import cinema.monitoring.SessionLockWaitEvent;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 
 @Getter
 public class MovieSession {
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(2);  // Длительность сеанса по умолчанию
+    private static final int OPTIMISTIC_ATTEMPTS = 3;  // Попыток оптимистичного чтения до захвата блокировки
+
+    private final int index;                         // Порядковый номер сеанса в системе (-1, если не зарегистрирован)
     private final String sessionId;                  // Идентификатор сеанса
     private final String movieTitle;                 // Название фильма
     private final Theater theater;                   // Кинозал
     private final LocalDateTime dateTime;            // Дата и время сеанса
-    private final Map<Seat, SeatStatus> seatStatusMap;  // Карта статусов мест
+    private final Duration duration;                 // Длительность сеанса (зал занят на это время)
+    @Getter(AccessLevel.NONE)
+    private final HallLayout layout;                 // Схема зала (общая, не копируется)
+    @Getter(AccessLevel.NONE)
+    private final byte[] seatStates;                 // Статусы мест по индексу места (ordinal статуса)
+    @Getter(AccessLevel.NONE)
+    private final List<SeatStatusListener> listeners = new CopyOnWriteArrayList<>();  // Слушатели изменений мест
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock lock = new ReentrantLock();  // Блокировка изменений мест сеанса
+    @Getter(AccessLevel.NONE)
+    private final StampedLock stateLock = new StampedLock();  // Версионированная защита массива статусов
+    @Getter(AccessLevel.NONE)
+    private long version;                            // Версия состояния мест (меняется под stateLock)
 
     public MovieSession(String sessionId, String movieTitle, Theater theater, LocalDateTime dateTime) {
-        if (sessionId == null || movieTitle == null || theater == null || dateTime == null) {
+        this(-1, sessionId, movieTitle, theater, dateTime);
+    }
+
+    public MovieSession(int index, String sessionId, String movieTitle, Theater theater, LocalDateTime dateTime) {
+        this(index, sessionId, movieTitle, theater, dateTime, DEFAULT_DURATION);
+    }
+
+    public MovieSession(int index, String sessionId, String movieTitle, Theater theater, LocalDateTime dateTime,
+                        Duration duration) {
+        if (sessionId == null || movieTitle == null || theater == null || dateTime == null || duration == null) {
             throw new IllegalArgumentException("Все параметры должны быть указаны");
         }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Длительность сеанса должна быть положительной");
+        }
+        this.index = index;
         this.sessionId = sessionId;
         this.movieTitle = movieTitle;
         this.theater = theater;
         this.dateTime = dateTime;
-        this.seatStatusMap = initializeSeatStatus();
+        this.duration = duration;
+        this.layout = theater.getLayout();
+        this.seatStates = new byte[layout.getCapacity()];  // Все места изначально FREE (ordinal 0)
     }
 
-    private Map<Seat, SeatStatus> initializeSeatStatus() {
-        Map<Seat, SeatStatus> statusMap = new HashMap<>();
-        for (Seat seat : theater.getAllSeats()) {
-            statusMap.put(seat, SeatStatus.FREE);
+    /**
+     * Время окончания сеанса
+     */
+    public LocalDateTime getEndTime() {
+        return dateTime.plus(duration);
+    }
+
+    /**
+     * Интервал, на который сеанс занимает зал
+     */
+    public TimeSlot getTimeSlot() {
+        return new TimeSlot(dateTime, getEndTime());
+    }
+
+    /**
+     * Карта статусов мест (снимок в порядке индексов мест)
+     */
+    public Map<Seat, SeatStatus> getSeatStatusMap() {
+        SeatMapSnapshot snapshot = getSnapshot();
+        Map<Seat, SeatStatus> statusMap = new LinkedHashMap<>();
+        for (int i = 0; i < seatStates.length; i++) {
+            statusMap.put(layout.seatAt(i), snapshot.getStatus(i));
         }
         return statusMap;
     }
 
+    /**
+     * Согласованный снимок статусов мест.
+     * <p>
+     * Сначала выполняется оптимистичное чтение без блокировки: массив копируется,
+     * после чего проверяется, что версия не изменилась. Писатели при этом не
+     * блокируются. Только если копирование несколько раз подряд пересеклось
+     * с записью, снимок берется под блокировкой чтения.
+     */
+    public SeatMapSnapshot getSnapshot() {
+        byte[] copy = new byte[seatStates.length];
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = stateLock.tryOptimisticRead();
+            if (stamp != 0) {
+                System.arraycopy(seatStates, 0, copy, 0, copy.length);
+                long snapshotVersion = version;
+                if (stateLock.validate(stamp)) {
+                    return new SeatMapSnapshot(layout, copy, snapshotVersion);
+                }
+            }
+            Thread.onSpinWait();
+        }
+
+        long stamp = stateLock.readLock();
+        try {
+            System.arraycopy(seatStates, 0, copy, 0, copy.length);
+            return new SeatMapSnapshot(layout, copy, version);
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Текущая версия состояния мест; увеличивается при каждом изменении статуса
+     */
+    public long getVersion() {
+        long stamp = stateLock.tryOptimisticRead();
+        long currentVersion = version;
+        if (stateLock.validate(stamp)) {
+            return currentVersion;
+        }
+
+        stamp = stateLock.readLock();
+        try {
+            return version;
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+    }
+
     public boolean isSeatNotValid(Seat seat) {
-        return seat.getRow() < 1 || seat.getRow() > theater.getRows() ||
-               seat.getNumber() < 1 || seat.getNumber() > theater.getSeatsPerRow();
+        return layout.indexOf(seat) < 0;
     }
 
     public SeatStatus getSeatStatus(Seat seat) {
-        if (isSeatNotValid(seat)) {
-            throw new IllegalArgumentException("Неверное место: " + seat);
+        return getSeatStatus(seatIndexOf(seat));
+    }
+
+    /**
+     * Статус места по его индексу в схеме зала
+     */
+    public SeatStatus getSeatStatus(int seatIndex) {
+        long stamp = stateLock.tryOptimisticRead();
+        byte state = seatStates[seatIndex];
+        if (stateLock.validate(stamp)) {
+            return STATUSES[state];
+        }
+
+        stamp = stateLock.readLock();
+        try {
+            return STATUSES[seatStates[seatIndex]];
+        } finally {
+            stateLock.unlockRead(stamp);
         }
-        return seatStatusMap.getOrDefault(seat, SeatStatus.FREE);
     }
 
     public void setSeatStatus(Seat seat, SeatStatus status) {
-        if (isSeatNotValid(seat)) {
-            throw new IllegalArgumentException("Неверное место: " + seat);
+        setSeatStatus(seatIndexOf(seat), status);
+    }
+
+    /**
+     * Устанавливает статус места по его индексу в схеме зала
+     */
+    public void setSeatStatus(int seatIndex, SeatStatus status) {
+        SeatStatus oldStatus;
+        long stamp = stateLock.writeLock();
+        try {
+            oldStatus = STATUSES[seatStates[seatIndex]];
+            seatStates[seatIndex] = (byte) status.ordinal();
+            version++;
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+
+        if (oldStatus != status) {
+            Seat seat = layout.seatAt(seatIndex);
+            for (SeatStatusListener listener : listeners) {
+                listener.onSeatStatusChanged(this, seat, oldStatus, status);
+            }
+        }
+    }
+
+    /**
+     * Захватывает блокировку сеанса. Все изменения мест и связанных с ними билетов
+     * выполняются под этой блокировкой; она реентерабельна.
+     * Если блокировка занята, время ожидания записывается событием JFR.
+     */
+    public void lock() {
+        lock(-1);
+    }
+
+    /**
+     * Захватывает блокировку сеанса для операции над местом {@code seatIndex};
+     * индекс места попадает в событие JFR об ожидании блокировки
+     */
+    public void lock(int seatIndex) {
+        if (lock.tryLock()) {
+            return;
+        }
+        SessionLockWaitEvent event = SessionLockWaitEvent.start(seatIndex, lock.getQueueLength());
+        lock.lock();
+        event.finish(sessionId);
+    }
+
+    /**
+     * Освобождает блокировку сеанса
+     */
+    public void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Подписывает слушателя на изменения статусов мест
+     */
+    public void addSeatStatusListener(SeatStatusListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Слушатель не может быть null");
         }
-        seatStatusMap.put(seat, status);
+        listeners.add(listener);
+    }
+
+    /**
+     * Отписывает слушателя от изменений статусов мест
+     */
+    public void removeSeatStatusListener(SeatStatusListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Количество мест с указанным статусом
+     */
+    public int countSeats(SeatStatus status) {
+        return getSnapshot().count(status);
     }
 
     public List<Seat> getAvailableSeats() {
-        return seatStatusMap.entrySet().stream()
-                .filter(entry -> entry.getValue() == SeatStatus.FREE)
-                .map(Map.Entry::getKey)
-                .toList();
+        return getSnapshot().getSeats(SeatStatus.FREE);
     }
 
     public List<Seat> getReservedSeats() {
-        return seatStatusMap.entrySet().stream()
-                .filter(entry -> entry.getValue() == SeatStatus.RESERVED)
-                .map(Map.Entry::getKey)
-                .toList();
+        return getSnapshot().getSeats(SeatStatus.RESERVED);
     }
 
     public List<Seat> getSoldSeats() {
-        return seatStatusMap.entrySet().stream()
-                .filter(entry -> entry.getValue() == SeatStatus.SOLD)
-                .map(Map.Entry::getKey)
-                .toList();
+        return getSnapshot().getSeats(SeatStatus.SOLD);
+    }
+
+    private int seatIndexOf(Seat seat) {
+        int index = layout.indexOf(seat);
+        if (index < 0) {
+            throw new IllegalArgumentException("Неверное место: " + seat);
+        }
+        return index;
     }
 }
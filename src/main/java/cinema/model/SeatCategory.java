@@ -0,0 +1,7 @@
+package cinema.model;
+
+public enum SeatCategory {
+    STANDARD,  // Обычное место
+    COMFORT,   // Место повышенной комфортности
+    VIP        // VIP-место
+}
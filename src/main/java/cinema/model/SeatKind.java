@@ -0,0 +1,6 @@
+package cinema.model;
+
+public enum SeatKind {
+    REGULAR,     // Обычное кресло
+    WHEELCHAIR   // Место для зрителя на коляске
+}
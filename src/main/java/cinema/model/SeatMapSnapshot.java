@@ -0,0 +1,57 @@
+package cinema.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Согласованный снимок статусов мест сеанса на момент определенной версии
+ */
+public class SeatMapSnapshot {
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private final HallLayout layout;    // Схема зала
+    private final byte[] states;        // Статусы мест по индексу (ordinal статуса)
+    @Getter
+    private final long version;         // Версия состояния мест сеанса
+
+    SeatMapSnapshot(HallLayout layout, byte[] states, long version) {
+        this.layout = layout;
+        this.states = states;
+        this.version = version;
+    }
+
+    /**
+     * Статус места по его индексу в схеме зала
+     */
+    public SeatStatus getStatus(int seatIndex) {
+        return STATUSES[states[seatIndex]];
+    }
+
+    /**
+     * Количество мест с указанным статусом
+     */
+    public int count(SeatStatus status) {
+        int count = 0;
+        for (byte state : states) {
+            if (state == status.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Места с указанным статусом в порядке индексов
+     */
+    public List<Seat> getSeats(SeatStatus status) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == status.ordinal()) {
+                seats.add(layout.seatAt(i));
+            }
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,18 @@
+package cinema.model;
+
+/**
+ * Слушатель изменений статуса мест сеанса
+ */
+@FunctionalInterface
+public interface SeatStatusListener {
+
+    /**
+     * Вызывается после смены статуса места (только если статус действительно изменился)
+     *
+     * @param session сеанс, в котором изменилось место
+     * @param seat место
+     * @param oldStatus прежний статус
+     * @param newStatus новый статус
+     */
+    void onSeatStatusChanged(MovieSession session, Seat seat, SeatStatus oldStatus, SeatStatus newStatus);
+}
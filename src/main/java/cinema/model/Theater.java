@@ -2,40 +2,96 @@ package cinema.model;
 
 import lombok.Getter;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 public class Theater {
     private final String name;            // Название зала
-    private final int rows;               // Количество рядов
-    private final int seatsPerRow;        // Количество мест в ряду
-    private final List<Seat> allSeats;    // Список всех мест
+    private final HallLayout layout;      // Схема зала (общая для всех сеансов)
 
     public Theater(String name, int rows, int seatsPerRow) {
+        this(name, rows, seatsPerRow, Map.of());
+    }
+
+    /**
+     * Создает прямоугольный зал с категориями рядов; ряды, не указанные в карте, считаются обычными
+     */
+    public Theater(String name, int rows, int seatsPerRow, Map<Integer, SeatCategory> rowCategories) {
+        this(name, rectangularLayout(rows, seatsPerRow, rowCategories));
+    }
+
+    /**
+     * Создает зал произвольной формы
+     */
+    public Theater(String name, HallLayout layout) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Название зала не может быть пустым");
         }
-        if (rows <= 0 || seatsPerRow <= 0) {
-            throw new IllegalArgumentException("Количество рядов и мест должно быть положительным");
+        if (layout == null) {
+            throw new IllegalArgumentException("Схема зала должна быть указана");
         }
         this.name = name;
-        this.rows = rows;
-        this.seatsPerRow = seatsPerRow;
-        this.allSeats = initializeSeats();
+        this.layout = layout;
     }
 
-    private List<Seat> initializeSeats() {
-        List<Seat> seats = new ArrayList<>();
-        for (int row = 1; row <= rows; row++) {
-            for (int seatNum = 1; seatNum <= seatsPerRow; seatNum++) {
-                seats.add(new Seat(row, seatNum));
+    private static HallLayout rectangularLayout(int rows, int seatsPerRow, Map<Integer, SeatCategory> rowCategories) {
+        if (rowCategories == null) {
+            throw new IllegalArgumentException("Категории рядов должны быть указаны");
+        }
+        HallLayout layout = HallLayout.rectangular(rows, seatsPerRow);
+        for (Map.Entry<Integer, SeatCategory> entry : rowCategories.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new IllegalArgumentException("Неверная категория ряда: null -> " + entry.getValue());
             }
+            layout = layout.withRowCategory(entry.getKey(), entry.getValue());
         }
-        return seats;
+        return layout;
+    }
+
+    /**
+     * Количество рядов
+     */
+    public int getRows() {
+        return layout.getRows();
+    }
+
+    /**
+     * Максимальное количество мест в ряду
+     */
+    public int getSeatsPerRow() {
+        return layout.getMaxRowLength();
     }
 
     public List<Seat> getAllSeats() {
-        return new ArrayList<>(allSeats);
+        return layout.getSeats();
+    }
+
+    /**
+     * Общее количество мест в зале
+     */
+    public int getCapacity() {
+        return layout.getCapacity();
+    }
+
+    /**
+     * Плотный индекс места (0..capacity-1) или -1, если такого места в зале нет
+     */
+    public int getSeatIndex(Seat seat) {
+        return layout.indexOf(seat);
+    }
+
+    /**
+     * Категория места по его индексу
+     */
+    public SeatCategory getSeatCategory(int seatIndex) {
+        return layout.getCategory(seatIndex);
+    }
+
+    /**
+     * Категория места
+     */
+    public SeatCategory getSeatCategory(Seat seat) {
+        return getSeatCategory(getSeatIndex(seat));
     }
 }
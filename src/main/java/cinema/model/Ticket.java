@@ -1,51 +1,102 @@
 package cinema.model;
 
-import lombok.Getter;
-
+import java.time.Instant;
 import java.time.LocalDateTime;
 
-@Getter
+/**
+ * Билет - легковесное представление строки {@link TicketStore}.
+ * Все данные читаются из колонок хранилища, поэтому изменения статуса
+ * сразу видны во всех представлениях одного билета.
+ */
 public class Ticket {
-    private final String ticketId;            // Идентификатор билета
-    private final MovieSession session;       // Сеанс
-    private final Seat seat;                  // Место
-    private final LocalDateTime issueTime;    // Время выдачи билета
-    private boolean isActive;                 // Активен ли билет
-    private final boolean isReservation;      // Бронирование или продажа
-
-    public Ticket(String ticketId, MovieSession session, Seat seat, boolean isReservation) {
-        if (ticketId == null || session == null || seat == null) {
-            throw new IllegalArgumentException("Все параметры должны быть указаны");
-        }
-        this.ticketId = ticketId;
-        this.session = session;
-        this.seat = seat;
-        this.issueTime = LocalDateTime.now();
-        this.isActive = true;
-        this.isReservation = isReservation;
+    private final TicketStore store;    // Хранилище билетов
+    private final int slot;             // Номер строки в хранилище
+
+    Ticket(TicketStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    public String getTicketId() {
+        return store.ticketId(slot);
+    }
+
+    /**
+     * Числовой идентификатор билета
+     */
+    public long getId() {
+        return store.id(slot);
+    }
+
+    public MovieSession getSession() {
+        return store.session(slot);
+    }
+
+    /**
+     * Индекс места в схеме зала
+     */
+    public int getSeatIndex() {
+        return store.seatIndex(slot);
+    }
+
+    public Seat getSeat() {
+        return getSession().getTheater().getLayout().seatAt(getSeatIndex());
+    }
+
+    public LocalDateTime getIssueTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(store.issueMillis(slot)), store.clock().getZone());
+    }
+
+    /**
+     * Время выдачи билета в миллисекундах от эпохи
+     */
+    public long getIssueEpochMillis() {
+        return store.issueMillis(slot);
     }
 
     public boolean isActive() {
-        return isActive;
+        return (store.flags(slot) & TicketStore.ACTIVE) != 0;
     }
 
     public void setActive(boolean active) {
-        isActive = active;
+        store.setActive(slot, active);
     }
 
     public boolean isReservation() {
-        return isReservation;
+        return (store.flags(slot) & TicketStore.RESERVATION) != 0;
+    }
+
+    /**
+     * Цена билета в копейках
+     */
+    public long getPrice() {
+        return store.price(slot);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Ticket ticket = (Ticket) o;
+        return store == ticket.store && slot == ticket.slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(store) + slot;
     }
 
     @Override
     public String toString() {
-        String statusReservation = isReservation ? "Забронирован" : "Продан";
-        String status = isActive ? statusReservation : "Недействителен";
-        return "Билет № " + ticketId + "\n" +
+        MovieSession session = getSession();
+        long price = getPrice();
+        String statusReservation = isReservation() ? "Забронирован" : "Продан";
+        String status = isActive() ? statusReservation : "Недействителен";
+        return "Билет № " + getTicketId() + "\n" +
                 "Фильм: " + session.getMovieTitle() + "\n" +
                 "Сеанс: " + session.getDateTime() + "\n" +
-                "Место: " + seat + "\n" +
+                "Место: " + getSeat() + "\n" +
+                "Цена: " + String.format("%d.%02d руб.", price / 100, price % 100) + "\n" +
                 "Статус: " + status;
     }
 }
-
@@ -0,0 +1,18 @@
+package cinema.model;
+
+/**
+ * Слушатель изменений в хранилище билетов
+ */
+public interface TicketListener {
+
+    /**
+     * Вызывается после выпуска билета в потоке, выпустившем билет. Билеты разных
+     * потоков могут сообщаться не в порядке ID
+     */
+    void onTicketIssued(Ticket ticket);
+
+    /**
+     * Вызывается после изменения признака действительности билета
+     */
+    void onTicketActiveChanged(Ticket ticket);
+}
@@ -0,0 +1,298 @@
+package cinema.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Колоночное хранилище билетов на примитивных массивах.
+ * <p>
+ * Каждый билет - это строка в наборе колонок (номер сеанса, индекс места,
+ * время выдачи, цена, флаги), разбитых на блоки фиксированного размера.
+ * Идентификатор билета совпадает с номером строки со сдвигом, поэтому поиск
+ * по ID не требует хеш-таблицы. Объекты {@link Ticket} - легковесные
+ * представления строки, создаваемые по требованию.
+ * <p>
+ * Выпуск билетов не использует общей блокировки: строка резервируется атомарным
+ * счетчиком, блоки создаются через CAS, а строка публикуется записью флагов
+ * с семантикой release. Зарезервированная, но еще не опубликованная строка
+ * не видна читателям, поэтому билеты разных сеансов выпускаются параллельно.
+ */
+public class TicketStore {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;  // Строк в блоке
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;     // Блоков на странице каталога
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int PAGES = 1 << (Integer.SIZE - 1 - CHUNK_BITS - PAGE_BITS);  // Страниц на 2^31 строк
+    private static final String ID_PREFIX = "T";
+
+    static final byte ACTIVE = 1;          // Флаг: билет действителен
+    static final byte RESERVATION = 2;     // Флаг: билет является бронью
+    private static final byte PUBLISHED = 4;  // Флаг: строка заполнена и видна читателям
+
+    private static final VarHandle FLAGS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final long firstId;                                  // ID первого билета
+    private final IntFunction<MovieSession> sessionResolver;     // Номер сеанса -> сеанс
+    private final Clock clock;                                   // Часы для времени выдачи
+    private final AtomicReferenceArray<AtomicReferenceArray<Chunk>> pages;  // Каталог блоков колонок
+    private final AtomicInteger nextSlot;                        // Следующая свободная строка
+    private volatile TicketListener listener;                    // Слушатель изменений (может быть null)
+
+    public TicketStore(long firstId, IntFunction<MovieSession> sessionResolver) {
+        this(firstId, sessionResolver, Clock.systemDefaultZone());
+    }
+
+    public TicketStore(long firstId, IntFunction<MovieSession> sessionResolver, Clock clock) {
+        if (firstId < 0 || sessionResolver == null || clock == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        this.firstId = firstId;
+        this.sessionResolver = sessionResolver;
+        this.clock = clock;
+        this.pages = new AtomicReferenceArray<>(PAGES);
+        this.nextSlot = new AtomicInteger();
+    }
+
+    /**
+     * Выпускает новый билет
+     *
+     * @param session сеанс (должен быть зарегистрирован в системе)
+     * @param seatIndex индекс места в схеме зала
+     * @param price цена в копейках
+     * @param isReservation бронь или продажа
+     * @return представление нового билета
+     */
+    public Ticket issue(MovieSession session, int seatIndex, long price, boolean isReservation) {
+        if (session == null || session.getIndex() < 0) {
+            throw new IllegalArgumentException("Сеанс не зарегистрирован в системе");
+        }
+        if (price < 0) {
+            throw new IllegalArgumentException("Цена не может быть отрицательной");
+        }
+        int slot = nextSlot.getAndIncrement();
+        if (slot < 0) {
+            throw new IllegalStateException("Хранилище билетов заполнено");
+        }
+        byte flags = (byte) (ACTIVE | (isReservation ? RESERVATION : 0));
+        return write(slot, session.getIndex(), seatIndex, clock.millis(), price, flags);
+    }
+
+    /**
+     * Восстанавливает билет с заданным ID (например, на реплике при применении журнала изменений).
+     * Билеты могут восстанавливаться в любом порядке: пропущенные строки остаются
+     * невидимыми, пока не будут восстановлены, а новые билеты выпускаются после
+     * наибольшего восстановленного ID.
+     */
+    public Ticket restore(long id, int sessionIndex, int seatIndex, long issueMillis, long price,
+                          boolean active, boolean isReservation) {
+        long offset = id - firstId;
+        if (offset < 0 || offset >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Неверный ID билета: T" + id);
+        }
+        int slot = (int) offset;
+        int current;
+        while ((current = nextSlot.get()) <= slot && !nextSlot.compareAndSet(current, slot + 1)) {
+            Thread.onSpinWait();
+        }
+        if (isPublished(slot)) {
+            throw new IllegalStateException("Билет уже существует: T" + id);
+        }
+        byte flags = (byte) ((active ? ACTIVE : 0) | (isReservation ? RESERVATION : 0));
+        return write(slot, sessionIndex, seatIndex, issueMillis, price, flags);
+    }
+
+    /**
+     * Устанавливает слушателя изменений; слушатель вызывается в потоке, изменившем билет
+     */
+    public void setListener(TicketListener listener) {
+        this.listener = listener;
+    }
+
+    private Ticket write(int slot, int sessionIndex, int seatIndex, long issueMillis, long price, byte flags) {
+        Chunk chunk = chunkFor(slot);
+        int offset = slot & CHUNK_MASK;
+        chunk.sessionIndex[offset] = sessionIndex;
+        chunk.seatIndex[offset] = seatIndex;
+        chunk.issueMillis[offset] = issueMillis;
+        chunk.price[offset] = price;
+        FLAGS.setRelease(chunk.flags, offset, (byte) (flags | PUBLISHED));  // Публикует строку для читателей
+        Ticket ticket = new Ticket(this, slot);
+
+        // Вызывается без блокировок хранилища; порядок ID между потоками не гарантируется
+        TicketListener current = listener;
+        if (current != null) {
+            current.onTicketIssued(ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Билет по числовому ID или null, если такого билета нет
+     */
+    public Ticket get(long id) {
+        long offset = id - firstId;
+        if (offset < 0 || offset >= nextSlot.get() || !isPublished((int) offset)) {
+            return null;
+        }
+        return new Ticket(this, (int) offset);
+    }
+
+    /**
+     * Блок строки, создаваемый при первом обращении (CAS на случай гонки потоков)
+     */
+    private Chunk chunkFor(int slot) {
+        int chunkIndex = slot >>> CHUNK_BITS;
+        int pageIndex = chunkIndex >>> PAGE_BITS;
+        AtomicReferenceArray<Chunk> page = pages.get(pageIndex);
+        if (page == null) {
+            pages.compareAndSet(pageIndex, null, new AtomicReferenceArray<>(PAGE_SIZE));
+            page = pages.get(pageIndex);
+        }
+        Chunk chunk = page.get(chunkIndex & PAGE_MASK);
+        if (chunk == null) {
+            page.compareAndSet(chunkIndex & PAGE_MASK, null, new Chunk());
+            chunk = page.get(chunkIndex & PAGE_MASK);
+        }
+        return chunk;
+    }
+
+    /**
+     * Блок опубликованной строки
+     */
+    private Chunk chunk(int slot) {
+        return pages.get(slot >>> (CHUNK_BITS + PAGE_BITS)).get((slot >>> CHUNK_BITS) & PAGE_MASK);
+    }
+
+    private boolean isPublished(int slot) {
+        AtomicReferenceArray<Chunk> page = pages.get(slot >>> (CHUNK_BITS + PAGE_BITS));
+        Chunk chunk = page == null ? null : page.get((slot >>> CHUNK_BITS) & PAGE_MASK);
+        return chunk != null && ((byte) FLAGS.getAcquire(chunk.flags, slot & CHUNK_MASK) & PUBLISHED) != 0;
+    }
+
+    /**
+     * Билет по ID или null, если такого билета нет
+     */
+    public Ticket get(String ticketId) {
+        return get(parseId(ticketId));
+    }
+
+    /**
+     * Все действительные билеты в порядке выдачи
+     */
+    public List<Ticket> getActive() {
+        int count = nextSlot.get();
+        List<Ticket> result = new ArrayList<>();
+        for (int slot = 0; slot < count; slot++) {
+            if (isPublished(slot) && (flags(slot) & ACTIVE) != 0) {
+                result.add(new Ticket(this, slot));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Обходит все опубликованные билеты (включая недействительные) в порядке ID
+     */
+    public void forEach(Consumer<Ticket> action) {
+        int count = nextSlot.get();
+        for (int slot = 0; slot < count; slot++) {
+            if (isPublished(slot)) {
+                action.accept(new Ticket(this, slot));
+            }
+        }
+    }
+
+    /**
+     * Количество выданных номеров билетов (включая строки, которые еще заполняются)
+     */
+    public int size() {
+        return nextSlot.get();
+    }
+
+    private static long parseId(String ticketId) {
+        if (ticketId == null || !ticketId.startsWith(ID_PREFIX) || ticketId.length() == ID_PREFIX.length()
+                || ticketId.length() > ID_PREFIX.length() + 18) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = ID_PREFIX.length(); i < ticketId.length(); i++) {
+            char ch = ticketId.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            id = id * 10 + (ch - '0');
+        }
+        // Ведущие нули дают другую строку ID: такой билет не существует
+        return ticketId.equals(ID_PREFIX + id) ? id : -1;
+    }
+
+    // Доступ к колонкам для представлений билетов
+
+    long id(int slot) {
+        return firstId + slot;
+    }
+
+    String ticketId(int slot) {
+        return ID_PREFIX + id(slot);
+    }
+
+    MovieSession session(int slot) {
+        return sessionResolver.apply(chunk(slot).sessionIndex[slot & CHUNK_MASK]);
+    }
+
+    int seatIndex(int slot) {
+        return chunk(slot).seatIndex[slot & CHUNK_MASK];
+    }
+
+    long issueMillis(int slot) {
+        return chunk(slot).issueMillis[slot & CHUNK_MASK];
+    }
+
+    long price(int slot) {
+        return chunk(slot).price[slot & CHUNK_MASK];
+    }
+
+    byte flags(int slot) {
+        return (byte) FLAGS.getVolatile(chunk(slot).flags, slot & CHUNK_MASK);
+    }
+
+    void setActive(int slot, boolean active) {
+        byte[] flags = chunk(slot).flags;
+        int offset = slot & CHUNK_MASK;
+        byte current;
+        byte updated;
+        do {
+            current = (byte) FLAGS.getVolatile(flags, offset);
+            updated = (byte) (active ? current | ACTIVE : current & ~ACTIVE);
+        } while (current != updated && !FLAGS.compareAndSet(flags, offset, current, updated));
+
+        TicketListener currentListener = listener;
+        if (currentListener != null && current != updated) {
+            currentListener.onTicketActiveChanged(new Ticket(this, slot));
+        }
+    }
+
+    Clock clock() {
+        return clock;
+    }
+
+    /**
+     * Блок колонок фиксированного размера
+     */
+    private static final class Chunk {
+        private final int[] sessionIndex = new int[CHUNK_SIZE];
+        private final int[] seatIndex = new int[CHUNK_SIZE];
+        private final long[] issueMillis = new long[CHUNK_SIZE];
+        private final long[] price = new long[CHUNK_SIZE];
+        private final byte[] flags = new byte[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,46 @@
+package cinema.model;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Интервал времени [start, end)
+ */
+@Getter
+public class TimeSlot {
+    private final LocalDateTime start;   // Начало интервала
+    private final LocalDateTime end;     // Конец интервала (не включается)
+
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Неверный интервал: " + start + " - " + end);
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeSlot timeSlot = (TimeSlot) o;
+        return start.equals(timeSlot.start) && end.equals(timeSlot.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return start + " - " + end;
+    }
+}
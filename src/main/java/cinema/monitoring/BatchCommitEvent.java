@@ -0,0 +1,50 @@
+package cinema.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: групповая фиксация пакета команд под одной блокировкой сеанса
+ */
+@Name("cinema.BatchCommit")
+@Label("Batch Commit")
+@Category({"Cinema", "Booking"})
+@Description("Выполнение пакета команд бронирования одного сеанса")
+@StackTrace(false)
+public final class BatchCommitEvent extends Event {
+
+    @Label("Session ID")
+    private String sessionId;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    @Label("Failed Commands")
+    private int failed;
+
+    /**
+     * Создает событие и начинает отсчет времени
+     */
+    public static BatchCommitEvent start() {
+        BatchCommitEvent event = new BatchCommitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает событие и записывает его, если оно включено и превысило порог длительности
+     */
+    public void finish(String sessionId, int batchSize, int failed) {
+        end();
+        if (shouldCommit()) {
+            this.sessionId = sessionId;
+            this.batchSize = batchSize;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package cinema.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: операция бронирования (покупка, бронь, подтверждение, покупка диапазона).
+ * Длительность события - полное время операции, включая ожидание блокировки сеанса.
+ * <p>
+ * Использование:
+ * <pre>
+ * BookingEvent event = BookingEvent.start();
+ * try { ... } finally { event.finish(BookingEvent.BUY, sessionId, seatIndex, 1, succeeded); }
+ * </pre>
+ */
+@Name("cinema.Booking")
+@Label("Booking Operation")
+@Category({"Cinema", "Booking"})
+@Description("Операция бронирования: тип, сеанс, место и результат")
+@StackTrace(false)
+public final class BookingEvent extends Event {
+    public static final String BUY = "buy";
+    public static final String RESERVE = "reserve";
+    public static final String CONFIRM = "confirm";
+    public static final String BUY_RANGE = "buyRange";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Session ID")
+    private String sessionId;
+
+    @Label("Seat Index")
+    @Description("Индекс места в схеме зала; для диапазона - первое место, -1 если место не определено")
+    private int seatIndex;
+
+    @Label("Seat Count")
+    private int seatCount;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Создает событие и начинает отсчет времени
+     */
+    public static BookingEvent start() {
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает событие и записывает его, если событие включено и превысило порог длительности
+     */
+    public void finish(String operation, String sessionId, int seatIndex, int seatCount, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sessionId = sessionId;
+            this.seatIndex = seatIndex;
+            this.seatCount = seatCount;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
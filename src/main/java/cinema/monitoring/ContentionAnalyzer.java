@@ -0,0 +1,177 @@
+package cinema.monitoring;
+
+import cinema.model.Seat;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Офлайн-анализатор записи JFR: строит по каждому сеансу сводку конкуренции
+ * и тепловые карты - отказы по местам зала и ожидание блокировки по времени.
+ * <p>
+ * Запуск: {@code java -cp <classpath> cinema.monitoring.ContentionAnalyzer recording.jfr}
+ * <p>
+ * Запись можно получить, например, так:
+ * {@code java -XX:StartFlightRecording=filename=recording.jfr,settings=profile ...}
+ * (события {@code cinema.*} включены по умолчанию).
+ */
+public class ContentionAnalyzer {
+    private static final char[] SCALE = {'.', '░', '▒', '▓', '█'};  // Интенсивность: 0, до 25%, 50%, 75%, 100%
+    private static final int TIMELINE_BUCKETS = 60;                  // Интервалов на временной шкале
+
+    private final Map<String, SessionContention> sessions = new TreeMap<>();  // Сводки по ID сеанса
+    private Instant firstEvent;                                              // Начало первого события
+    private Instant lastEvent;                                               // Конец последнего события
+
+    /**
+     * Читает запись JFR целиком
+     */
+    public static ContentionAnalyzer analyze(Path recording) throws IOException {
+        ContentionAnalyzer analyzer = new ContentionAnalyzer();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.accept(file.readEvent());
+            }
+        }
+        return analyzer;
+    }
+
+    /**
+     * Учитывает событие; события, не относящиеся к бронированию, пропускаются
+     */
+    public void accept(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        if (!type.startsWith("cinema.")) {
+            return;
+        }
+        String sessionId = event.getString("sessionId");
+        if (sessionId == null) {
+            return;
+        }
+        SessionContention session = sessions.computeIfAbsent(sessionId, SessionContention::new);
+        switch (type) {
+            case "cinema.Booking" -> session.addBooking(event.getDuration(), event.getBoolean("succeeded"));
+            case "cinema.SeatConflict" -> session.addConflict(event.getInt("row"), event.getInt("seatNumber"));
+            case "cinema.SessionLockWait" -> session.addLockWait(event.getStartTime(), event.getDuration());
+            case "cinema.BatchCommit" -> session.addBatch(event.getInt("batchSize"));
+            default -> {
+                return;
+            }
+        }
+        if (firstEvent == null || event.getStartTime().isBefore(firstEvent)) {
+            firstEvent = event.getStartTime();
+        }
+        if (lastEvent == null || event.getEndTime().isAfter(lastEvent)) {
+            lastEvent = event.getEndTime();
+        }
+    }
+
+    /**
+     * Сводки по сеансам в порядке ID
+     */
+    public Map<String, SessionContention> getSessions() {
+        return new TreeMap<>(sessions);
+    }
+
+    public SessionContention getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Текстовый отчет: сводка и тепловые карты по каждому сеансу
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        for (SessionContention session : sessions.values()) {
+            renderSummary(out, session);
+            renderSeatHeatmap(out, session);
+            renderLockWaitTimeline(out, session);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void renderSummary(StringBuilder out, SessionContention session) {
+        out.append(String.format("Сеанс %s%n", session.getSessionId()));
+        out.append(String.format("  Операций: %d (неуспешных %d), среднее %.3f мс, максимум %.3f мс%n",
+                session.getBookings(), session.getFailedBookings(),
+                millis(session.getBookings() == 0 ? 0 : session.getBookingNanos() / session.getBookings()),
+                millis(session.getMaxBookingNanos())));
+        out.append(String.format("  Отказов из-за занятого места: %d%n", session.getConflicts()));
+        out.append(String.format("  Ожиданий блокировки: %d, всего %.3f мс, максимум %.3f мс%n",
+                session.getLockWaits(), millis(session.getLockWaitNanos()), millis(session.getMaxLockWaitNanos())));
+        if (session.getBatches() > 0) {
+            out.append(String.format("  Пакетов: %d, средний размер %.1f%n",
+                    session.getBatches(), session.getAverageBatchSize()));
+        }
+    }
+
+    private static void renderSeatHeatmap(StringBuilder out, SessionContention session) {
+        Map<Seat, Long> conflicts = session.getConflictsBySeat();
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        int rows = 0;
+        int seats = 0;
+        long max = 0;
+        for (Map.Entry<Seat, Long> entry : conflicts.entrySet()) {
+            rows = Math.max(rows, entry.getKey().getRow());
+            seats = Math.max(seats, entry.getKey().getNumber());
+            max = Math.max(max, entry.getValue());
+        }
+
+        out.append(String.format("  Отказы по местам (максимум %d на место):%n", max));
+        for (int row = 1; row <= rows; row++) {
+            out.append(String.format("  %-4d ", row));
+            for (int number = 1; number <= seats; number++) {
+                out.append(shade(session.getConflicts(row, number), max));
+            }
+            out.append('\n');
+        }
+    }
+
+    private void renderLockWaitTimeline(StringBuilder out, SessionContention session) {
+        if (session.getLockWaits() == 0) {
+            return;
+        }
+        Duration span = Duration.between(firstEvent, lastEvent);
+        Duration bucket = span.dividedBy(TIMELINE_BUCKETS).plusNanos(1);
+        long[] timeline = session.getLockWaitTimeline(firstEvent, bucket, TIMELINE_BUCKETS);
+        long max = 0;
+        for (long value : timeline) {
+            max = Math.max(max, value);
+        }
+
+        out.append(String.format("  Ожидание блокировки по времени (интервал %.3f мс):%n  ", millis(bucket.toNanos())));
+        for (long value : timeline) {
+            out.append(shade(value, max));
+        }
+        out.append('\n');
+    }
+
+    private static char shade(long value, long max) {
+        if (value <= 0 || max <= 0) {
+            return SCALE[0];
+        }
+        int level = (int) Math.ceil((double) value * (SCALE.length - 1) / max);
+        return SCALE[Math.min(level, SCALE.length - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Использование: ContentionAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(analyze(Path.of(args[0])).render());
+    }
+}
@@ -0,0 +1,55 @@
+package cinema.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: попытка занять место, которое уже продано или забронировано
+ */
+@Name("cinema.SeatConflict")
+@Label("Seat Conflict")
+@Category({"Cinema", "Contention"})
+@Description("Отказ в бронировании из-за того, что место уже занято")
+@StackTrace(false)
+public final class SeatConflictEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Session ID")
+    private String sessionId;
+
+    @Label("Seat Index")
+    private int seatIndex;
+
+    @Label("Row")
+    private int row;
+
+    @Label("Seat Number")
+    private int seatNumber;
+
+    @Label("Seat Status")
+    @Description("Статус, в котором находилось место")
+    private String seatStatus;
+
+    /**
+     * Записывает событие, если оно включено
+     */
+    public static void emit(String operation, String sessionId, int seatIndex, int row, int seatNumber,
+                            String seatStatus) {
+        SeatConflictEvent event = new SeatConflictEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.sessionId = sessionId;
+            event.seatIndex = seatIndex;
+            event.row = row;
+            event.seatNumber = seatNumber;
+            event.seatStatus = seatStatus;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package cinema.monitoring;
+
+import cinema.model.Seat;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сводка конкуренции по одному сеансу, собранная из записи JFR
+ */
+@Getter
+public class SessionContention {
+    private final String sessionId;       // Идентификатор сеанса
+    private long bookings;                // Операций бронирования
+    private long failedBookings;          // Неуспешных операций бронирования
+    private long bookingNanos;            // Суммарное время операций бронирования
+    private long maxBookingNanos;         // Максимальное время операции бронирования
+    private long conflicts;               // Отказов из-за занятого места
+    private long lockWaits;               // Ожиданий блокировки сеанса
+    private long lockWaitNanos;           // Суммарное время ожидания блокировки
+    private long maxLockWaitNanos;        // Максимальное время ожидания блокировки
+    private long batches;                 // Пакетов групповой фиксации
+    private long batchedCommands;         // Команд в пакетах
+    @Getter(AccessLevel.NONE)
+    private final Map<Seat, Long> conflictsBySeat = new HashMap<>();             // Отказы по местам
+    @Getter(AccessLevel.NONE)
+    private final TreeMap<Instant, Long> lockWaitNanosByStart = new TreeMap<>();  // Ожидания по времени начала
+
+    SessionContention(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    void addBooking(Duration duration, boolean succeeded) {
+        bookings++;
+        if (!succeeded) {
+            failedBookings++;
+        }
+        bookingNanos += duration.toNanos();
+        maxBookingNanos = Math.max(maxBookingNanos, duration.toNanos());
+    }
+
+    void addConflict(int row, int seatNumber) {
+        conflicts++;
+        conflictsBySeat.merge(new Seat(row, seatNumber), 1L, Long::sum);
+    }
+
+    void addLockWait(Instant start, Duration duration) {
+        lockWaits++;
+        lockWaitNanos += duration.toNanos();
+        maxLockWaitNanos = Math.max(maxLockWaitNanos, duration.toNanos());
+        lockWaitNanosByStart.merge(start, duration.toNanos(), Long::sum);
+    }
+
+    void addBatch(int size) {
+        batches++;
+        batchedCommands += size;
+    }
+
+    /**
+     * Количество отказов по месту
+     */
+    public long getConflicts(int row, int seatNumber) {
+        return conflictsBySeat.getOrDefault(new Seat(row, seatNumber), 0L);
+    }
+
+    /**
+     * Отказы по местам (копия)
+     */
+    public Map<Seat, Long> getConflictsBySeat() {
+        return new HashMap<>(conflictsBySeat);
+    }
+
+    /**
+     * Суммарное время ожидания блокировки по интервалам времени
+     *
+     * @param from начало первого интервала
+     * @param bucket ширина интервала
+     * @param buckets количество интервалов
+     */
+    public long[] getLockWaitTimeline(Instant from, Duration bucket, int buckets) {
+        long[] timeline = new long[buckets];
+        long bucketNanos = Math.max(1, bucket.toNanos());
+        for (Map.Entry<Instant, Long> entry : lockWaitNanosByStart.tailMap(from).entrySet()) {
+            long offset = Duration.between(from, entry.getKey()).toNanos() / bucketNanos;
+            if (offset >= buckets) {
+                break;
+            }
+            timeline[(int) offset] += entry.getValue();
+        }
+        return timeline;
+    }
+
+    /**
+     * Средний размер пакета групповой фиксации
+     */
+    public double getAverageBatchSize() {
+        return batches == 0 ? 0 : (double) batchedCommands / batches;
+    }
+}
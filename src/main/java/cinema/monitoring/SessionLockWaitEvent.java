@@ -0,0 +1,52 @@
+package cinema.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR: ожидание блокировки сеанса, занятой другим потоком.
+ * Создается только при конкуренции за блокировку; стек вызовов показывает
+ * операцию, которая ждала.
+ */
+@Name("cinema.SessionLockWait")
+@Label("Session Lock Wait")
+@Category({"Cinema", "Contention"})
+@Description("Ожидание блокировки сеанса")
+public final class SessionLockWaitEvent extends Event {
+
+    @Label("Session ID")
+    private String sessionId;
+
+    @Label("Seat Index")
+    @Description("Индекс места, ради которого захватывалась блокировка; для диапазона - первое место, -1 если место не определено")
+    private int seatIndex;
+
+    @Label("Queued Threads")
+    @Description("Количество потоков в очереди блокировки в момент начала ожидания")
+    private int queuedThreads;
+
+    /**
+     * Создает событие и начинает отсчет времени ожидания
+     */
+    public static SessionLockWaitEvent start(int seatIndex, int queuedThreads) {
+        SessionLockWaitEvent event = new SessionLockWaitEvent();
+        event.begin();
+        event.seatIndex = seatIndex;
+        event.queuedThreads = queuedThreads;
+        return event;
+    }
+
+    /**
+     * Завершает ожидание и записывает событие, если оно включено и превысило порог длительности
+     */
+    public void finish(String sessionId) {
+        end();
+        if (shouldCommit()) {
+            this.sessionId = sessionId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package cinema.pricing;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatStatus;
+import cinema.model.SeatStatusListener;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Движок динамического ценообразования.
+ * <p>
+ * Для каждого сеанса держит предрассчитанную таблицу цен мест, которая
+ * учитывает категорию места, время сеанса и текущую заполняемость зала.
+ * Котировка на пути продажи - это чтение из массива.
+ */
+public class PricingEngine implements SeatStatusListener {
+    @Getter
+    private final PricingPolicy policy;                   // Правила ценообразования
+    private final Map<String, SessionPriceTable> tables;  // Таблицы цен (id сеанса -> таблица)
+
+    public PricingEngine() {
+        this(PricingPolicy.defaultPolicy());
+    }
+
+    public PricingEngine(PricingPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Правила ценообразования должны быть указаны");
+        }
+        this.policy = policy;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Строит таблицу цен сеанса и подписывается на изменения его мест
+     */
+    public void register(MovieSession session) {
+        SessionPriceTable table = new SessionPriceTable(session, policy);
+        if (tables.putIfAbsent(session.getSessionId(), table) != null) {
+            throw new IllegalStateException("Сеанс уже зарегистрирован: " + session.getSessionId());
+        }
+        session.addSeatStatusListener(this);
+    }
+
+    /**
+     * Текущая цена места (копейки)
+     */
+    public long quote(MovieSession session, Seat seat) {
+        return quote(session, session.getTheater().getSeatIndex(seat));
+    }
+
+    /**
+     * Текущая цена места по его индексу в схеме зала (копейки)
+     */
+    public long quote(MovieSession session, int seatIndex) {
+        return getPriceTable(session.getSessionId()).quote(seatIndex);
+    }
+
+    /**
+     * Таблица цен сеанса
+     */
+    public SessionPriceTable getPriceTable(String sessionId) {
+        SessionPriceTable table = tables.get(sessionId);
+        if (table == null) {
+            throw new IllegalArgumentException("Сеанс не найден: " + sessionId);
+        }
+        return table;
+    }
+
+    @Override
+    public void onSeatStatusChanged(MovieSession session, Seat seat, SeatStatus oldStatus, SeatStatus newStatus) {
+        SessionPriceTable table = tables.get(session.getSessionId());
+        if (table == null) {
+            return;
+        }
+        int delta = (newStatus != SeatStatus.FREE ? 1 : 0) - (oldStatus != SeatStatus.FREE ? 1 : 0);
+        if (delta != 0) {
+            table.onOccupancyChanged(delta);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package cinema.pricing;
+
+import cinema.model.SeatCategory;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Правила ценообразования: базовые цены категорий, коэффициенты времени суток
+ * и наценки за заполняемость зала. Все цены указываются в копейках,
+ * коэффициенты и наценки - в процентах.
+ */
+public class PricingPolicy {
+    private final Map<SeatCategory, Long> basePrices;            // Базовая цена по категории (копейки)
+    private final NavigableMap<LocalTime, Integer> timeFactors;  // Коэффициент времени суток (начало интервала -> %)
+    private final int[] occupancyThresholds;                     // Пороги заполняемости (%, по возрастанию)
+    private final int[] occupancyMarkups;                        // Наценка для каждого порога (%)
+
+    public PricingPolicy(Map<SeatCategory, Long> basePrices,
+                         NavigableMap<LocalTime, Integer> timeFactors,
+                         int[] occupancyThresholds,
+                         int[] occupancyMarkups) {
+        if (basePrices == null || timeFactors == null || occupancyThresholds == null || occupancyMarkups == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        for (SeatCategory category : SeatCategory.values()) {
+            Long price = basePrices.get(category);
+            if (price == null || price < 0) {
+                throw new IllegalArgumentException("Не указана базовая цена категории: " + category);
+            }
+        }
+        if (timeFactors.isEmpty() || !timeFactors.firstKey().equals(LocalTime.MIDNIGHT)) {
+            throw new IllegalArgumentException("Коэффициенты времени должны начинаться с 00:00");
+        }
+        if (occupancyThresholds.length == 0 || occupancyThresholds.length != occupancyMarkups.length
+                || occupancyThresholds[0] != 0) {
+            throw new IllegalArgumentException("Пороги заполняемости должны начинаться с 0 и совпадать по количеству с наценками");
+        }
+        for (int i = 1; i < occupancyThresholds.length; i++) {
+            if (occupancyThresholds[i] <= occupancyThresholds[i - 1] || occupancyThresholds[i] > 100) {
+                throw new IllegalArgumentException("Пороги заполняемости должны возрастать в пределах 0..100");
+            }
+        }
+        this.basePrices = new EnumMap<>(basePrices);
+        this.timeFactors = new TreeMap<>(timeFactors);
+        this.occupancyThresholds = occupancyThresholds.clone();
+        this.occupancyMarkups = occupancyMarkups.clone();
+    }
+
+    /**
+     * Политика по умолчанию
+     */
+    public static PricingPolicy defaultPolicy() {
+        Map<SeatCategory, Long> basePrices = new EnumMap<>(SeatCategory.class);
+        basePrices.put(SeatCategory.STANDARD, 350_00L);
+        basePrices.put(SeatCategory.COMFORT, 450_00L);
+        basePrices.put(SeatCategory.VIP, 700_00L);
+
+        NavigableMap<LocalTime, Integer> timeFactors = new TreeMap<>();
+        timeFactors.put(LocalTime.MIDNIGHT, 80);      // Ночные и утренние сеансы
+        timeFactors.put(LocalTime.of(12, 0), 100);    // Дневные сеансы
+        timeFactors.put(LocalTime.of(18, 0), 120);    // Вечерние сеансы
+        timeFactors.put(LocalTime.of(23, 0), 90);     // Поздние сеансы
+
+        return new PricingPolicy(basePrices, timeFactors,
+                new int[]{0, 50, 80, 95},
+                new int[]{0, 10, 25, 40});
+    }
+
+    /**
+     * Номер ступени заполняемости для указанного количества занятых мест
+     */
+    public int occupancyTier(int occupied, int capacity) {
+        long percent = capacity == 0 ? 0 : (long) occupied * 100 / capacity;
+        int index = Arrays.binarySearch(occupancyThresholds, (int) percent);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Цена места категории в указанное время при указанной ступени заполняемости (копейки)
+     */
+    public long price(SeatCategory category, LocalTime time, int tier) {
+        long base = basePrices.get(category);
+        int timeFactor = timeFactors.floorEntry(time).getValue();
+        int markup = occupancyMarkups[tier];
+        return base * timeFactor / 100 * (100 + markup) / 100;
+    }
+}
@@ -0,0 +1,65 @@
+package cinema.pricing;
+
+import cinema.model.MovieSession;
+import cinema.model.SeatCategory;
+import cinema.model.SeatStatus;
+import cinema.model.Theater;
+import lombok.Getter;
+
+import java.time.LocalTime;
+
+/**
+ * Предрассчитанная таблица цен сеанса: цена каждого места по его индексу.
+ * Таблица пересчитывается только при переходе заполняемости через порог.
+ */
+public class SessionPriceTable {
+    private final MovieSession session;   // Сеанс
+    private final PricingPolicy policy;   // Правила ценообразования
+    @Getter
+    private int occupied;                 // Количество занятых мест (продано + забронировано)
+    @Getter
+    private volatile int tier;            // Текущая ступень заполняемости
+    private volatile long[] prices;       // Цены мест по индексу (копейки)
+
+    SessionPriceTable(MovieSession session, PricingPolicy policy) {
+        this.session = session;
+        this.policy = policy;
+        this.occupied = session.getTheater().getCapacity() - session.countSeats(SeatStatus.FREE);
+        this.tier = policy.occupancyTier(occupied, session.getTheater().getCapacity());
+        this.prices = buildPrices(tier);
+    }
+
+    /**
+     * Цена места по индексу (копейки)
+     */
+    public long quote(int seatIndex) {
+        return prices[seatIndex];
+    }
+
+    void onOccupancyChanged(int delta) {
+        occupied += delta;
+        int newTier = policy.occupancyTier(occupied, session.getTheater().getCapacity());
+        if (newTier != tier) {
+            prices = buildPrices(newTier);
+            tier = newTier;
+        }
+    }
+
+    private long[] buildPrices(int forTier) {
+        Theater theater = session.getTheater();
+        LocalTime time = session.getDateTime().toLocalTime();
+
+        // Цены считаются один раз на категорию, затем раскладываются по местам
+        SeatCategory[] categories = SeatCategory.values();
+        long[] categoryPrices = new long[categories.length];
+        for (SeatCategory category : categories) {
+            categoryPrices[category.ordinal()] = policy.price(category, time, forTier);
+        }
+
+        long[] table = new long[theater.getCapacity()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = categoryPrices[theater.getSeatCategory(i).ordinal()];
+        }
+        return table;
+    }
+}
@@ -0,0 +1,268 @@
+package cinema.replication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Журнал изменений в памяти: последовательность двоичных записей с номерами 1, 2, 3...
+ * <p>
+ * Добавление не использует блокировок: номер записи резервируется атомарным счетчиком,
+ * а запись публикуется в ячейке сегмента с семантикой release. Поэтому записи разных
+ * сеансов добавляются параллельно, а номера могут публиковаться не по порядку;
+ * читатели (потоки отправки реплик) забирают только непрерывный опубликованный
+ * префикс. Ждущий читатель паркуется и будится один раз на пакет: после пробуждения
+ * он снимается с очереди ожидания и снова встает в нее, только когда все прочитал.
+ * <p>
+ * Записи хранятся сегментами фиксированного размера; каталог сегментов неизменяем
+ * и заменяется целиком под монитором журнала при создании сегмента (раз на
+ * {@value #SEGMENT_SIZE} записей) или удалении старых сегментов.
+ * <p>
+ * Журнал хранит только хвост: при создании сегмента и при подтверждении записей
+ * резервным узлом удаляются сегменты, все записи которых подтверждены подключенными
+ * резервными узлами ({@link Cursor}) и которые старше последних {@code retainedRecords}
+ * записей. Резервный узел, которому нужны удаленные записи, получает снимок состояния.
+ */
+class ChangeLog {
+    private static final int SEGMENT_BITS = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;  // Записей в сегменте
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final long retainedRecords;                  // Записей, хранимых без подтверждений
+    private final AtomicLong reserved;                   // Номер последней зарезервированной записи
+    private final Queue<Thread> waiters;                 // Читатели, ждущие новых записей
+    private final List<Cursor> cursors;                  // Позиции подключенных резервных узлов (под монитором)
+    private volatile Directory directory;                // Каталог хранимых сегментов
+
+    ChangeLog(long retainedRecords) {
+        if (retainedRecords < 0) {
+            throw new IllegalArgumentException("Количество хранимых записей не может быть отрицательным");
+        }
+        this.retainedRecords = retainedRecords;
+        this.reserved = new AtomicLong();
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.cursors = new ArrayList<>();
+        this.directory = new Directory(0, new Segment[0]);
+    }
+
+    /**
+     * Добавляет запись и возвращает ее номер
+     */
+    long append(byte[] record) {
+        long sequence = reserved.incrementAndGet();
+        long slot = sequence - 1;
+        Segment segment = segmentFor(slot >>> SEGMENT_BITS);
+        int offset = (int) (slot & SEGMENT_MASK);
+        segment.appendMillis[offset] = System.currentTimeMillis();
+        segment.records.setRelease(offset, record);
+
+        if (!waiters.isEmpty()) {
+            Thread waiter;
+            while ((waiter = waiters.poll()) != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Номер последней зарезервированной записи (запись может еще публиковаться)
+     */
+    long getLastSequence() {
+        return reserved.get();
+    }
+
+    /**
+     * Номер самой старой хранимой записи
+     */
+    long getFirstSequence() {
+        return (directory.firstSegment << SEGMENT_BITS) + 1;
+    }
+
+    /**
+     * Ждет публикации записи с номером {@code sequence}
+     *
+     * @return true, если запись опубликована до истечения времени ожидания
+     */
+    boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Thread current = Thread.currentThread();
+        while (record(sequence - 1) == null) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            waiters.add(current);
+            // Повторная проверка после постановки в очередь, чтобы не пропустить пробуждение
+            if (record(sequence - 1) == null) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            waiters.remove(current);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Копирует до {@code recordsOut.length} опубликованных подряд записей, начиная с номера
+     * {@code fromSequence}; чтение останавливается на первой еще не опубликованной записи
+     *
+     * @return количество прочитанных записей
+     * @throws IllegalStateException если записи с номера {@code fromSequence} уже удалены
+     */
+    int read(long fromSequence, byte[][] recordsOut, long[] millisOut) {
+        if (fromSequence < 1) {
+            throw new IllegalArgumentException("Неверный номер записи журнала: " + fromSequence);
+        }
+        if (fromSequence < getFirstSequence()) {
+            throw new IllegalStateException("Записи журнала с номера " + fromSequence + " удалены");
+        }
+        int count = 0;
+        while (count < recordsOut.length) {
+            long slot = fromSequence - 1 + count;
+            Segment segment = segment(slot >>> SEGMENT_BITS);
+            byte[] record = segment == null ? null : segment.records.getAcquire((int) (slot & SEGMENT_MASK));
+            if (record == null) {
+                break;
+            }
+            recordsOut[count] = record;
+            millisOut[count] = segment.appendMillis[(int) (slot & SEGMENT_MASK)];
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Регистрирует резервный узел, которому нужны записи начиная с {@code nextSequence};
+     * эти записи хранятся, пока узел их не подтвердит или не отключится
+     *
+     * @return позиция узла или null, если нужные записи уже удалены
+     */
+    synchronized Cursor attach(long nextSequence) {
+        if (nextSequence < getFirstSequence() || nextSequence > reserved.get() + 1) {
+            return null;
+        }
+        Cursor cursor = new Cursor(nextSequence - 1);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    private byte[] record(long slot) {
+        Segment segment = segment(slot >>> SEGMENT_BITS);
+        return segment == null ? null : segment.records.getAcquire((int) (slot & SEGMENT_MASK));
+    }
+
+    /**
+     * Хранимый сегмент по номеру или null
+     */
+    private Segment segment(long number) {
+        Directory current = directory;
+        long index = number - current.firstSegment;
+        return index >= 0 && index < current.segments.length ? current.segments[(int) index] : null;
+    }
+
+    private Segment segmentFor(long number) {
+        Segment segment = segment(number);
+        return segment != null ? segment : createSegment(number);
+    }
+
+    /**
+     * Создает сегмент (и пропущенные перед ним) и удаляет устаревшие сегменты
+     */
+    private synchronized Segment createSegment(long number) {
+        Directory current = directory;
+        long index = number - current.firstSegment;
+        if (index < 0) {
+            // Сегмент уже удален: запись старше хвоста, и ее никто не ждет
+            return new Segment();
+        }
+        if (index < current.segments.length) {
+            return current.segments[(int) index];
+        }
+        Segment[] segments = Arrays.copyOf(current.segments, (int) index + 1);
+        for (int i = current.segments.length; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+        Segment created = segments[(int) index];
+        directory = new Directory(current.firstSegment, segments);
+        truncate();
+        return created;
+    }
+
+    /**
+     * Удаляет сегменты, все записи которых подтверждены и старше хранимого хвоста
+     */
+    private void truncate() {
+        long floor = reserved.get() - retainedRecords;
+        for (Cursor cursor : cursors) {
+            floor = Math.min(floor, cursor.acknowledged);
+        }
+        Directory current = directory;
+        int removable = 0;
+        while (removable < current.segments.length && (current.firstSegment + removable + 1) << SEGMENT_BITS <= floor) {
+            removable++;
+        }
+        if (removable > 0) {
+            directory = new Directory(current.firstSegment + removable,
+                    Arrays.copyOfRange(current.segments, removable, current.segments.length));
+        }
+    }
+
+    /**
+     * Позиция резервного узла: номер последней подтвержденной им записи
+     */
+    final class Cursor {
+        private long acknowledged;
+
+        private Cursor(long acknowledged) {
+            this.acknowledged = acknowledged;
+        }
+
+        long getAcknowledged() {
+            synchronized (ChangeLog.this) {
+                return acknowledged;
+            }
+        }
+
+        /**
+         * Узел подтвердил применение записей до {@code sequence} включительно
+         */
+        void acknowledge(long sequence) {
+            synchronized (ChangeLog.this) {
+                acknowledged = Math.max(acknowledged, Math.min(sequence, reserved.get()));
+                truncate();
+            }
+        }
+
+        /**
+         * Узел отключен; его записи больше не удерживаются
+         */
+        void detach() {
+            synchronized (ChangeLog.this) {
+                cursors.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Неизменяемый каталог сегментов: сегменты с номерами от {@code firstSegment}
+     */
+    private record Directory(long firstSegment, Segment[] segments) {
+    }
+
+    /**
+     * Сегмент журнала фиксированного размера
+     */
+    private static final class Segment {
+        private final AtomicReferenceArray<byte[]> records = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        private final long[] appendMillis = new long[SEGMENT_SIZE];
+    }
+}
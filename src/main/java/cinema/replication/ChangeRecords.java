@@ -0,0 +1,191 @@
+package cinema.replication;
+
+import cinema.model.*;
+import cinema.service.TicketManagementSystem;
+
+import java.io.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Двоичный формат записей журнала изменений.
+ * <p>
+ * Запись начинается с байта типа, за которым следуют поля фиксированной длины:
+ * <pre>
+ * SESSION       index, title, theaterId, theaterName, start (epochSecond UTC + nanos), duration (seconds), layout
+ * SEAT          sessionIndex, seatIndex, status
+ * TICKET        id, sessionIndex, seatIndex, issueMillis, price, flags
+ * TICKET_ACTIVE id, active
+ * SEATS         sessionIndex, count, count x status   (только в снимке состояния)
+ * </pre>
+ * Схема зала передается покомпонентно: длины рядов, затем позиции, категории и типы мест.
+ * Залы различаются по идентификатору, назначенному ведущим узлом: названия залов
+ * могут совпадать.
+ * <p>
+ * Применение записей идемпотентно: существующий сеанс не создается повторно, а для
+ * существующего билета обновляется признак действительности. Поэтому снимок
+ * состояния можно применить поверх отставшей реплики, а записи журнала,
+ * вошедшие в снимок, - повторно.
+ */
+final class ChangeRecords {
+    static final byte SESSION = 1;
+    static final byte SEAT = 2;
+    static final byte TICKET = 3;
+    static final byte TICKET_ACTIVE = 4;
+    static final byte SEATS = 5;
+
+    private static final byte FLAG_ACTIVE = 1;
+    private static final byte FLAG_RESERVATION = 2;
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final SeatCategory[] CATEGORIES = SeatCategory.values();
+    private static final SeatKind[] KINDS = SeatKind.values();
+
+    private ChangeRecords() {
+    }
+
+    static byte[] session(MovieSession session, int theaterId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(SESSION);
+            out.writeInt(session.getIndex());
+            out.writeUTF(session.getMovieTitle());
+            out.writeInt(theaterId);
+            out.writeUTF(session.getTheater().getName());
+            out.writeLong(session.getDateTime().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(session.getDateTime().getNano());
+            out.writeLong(session.getDuration().getSeconds());
+
+            HallLayout layout = session.getTheater().getLayout();
+            out.writeInt(layout.getRows());
+            for (int row = 1; row <= layout.getRows(); row++) {
+                out.writeInt(layout.getRowLength(row));
+            }
+            for (int i = 0; i < layout.getCapacity(); i++) {
+                out.writeInt(layout.positionOf(i));
+                out.writeByte(layout.getCategory(i).ordinal());
+                out.writeByte(layout.getKind(i).ordinal());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] seat(int sessionIndex, int seatIndex, SeatStatus status) {
+        byte[] record = new byte[10];
+        record[0] = SEAT;
+        putInt(record, 1, sessionIndex);
+        putInt(record, 5, seatIndex);
+        record[9] = (byte) status.ordinal();
+        return record;
+    }
+
+    /**
+     * Статусы всех мест сеанса (для снимка состояния)
+     */
+    static byte[] seats(MovieSession session) {
+        int capacity = session.getTheater().getCapacity();
+        byte[] record = new byte[9 + capacity];
+        record[0] = SEATS;
+        putInt(record, 1, session.getIndex());
+        putInt(record, 5, capacity);
+        for (int i = 0; i < capacity; i++) {
+            record[9 + i] = (byte) session.getSeatStatus(i).ordinal();
+        }
+        return record;
+    }
+
+    static byte[] ticket(Ticket ticket) {
+        byte[] record = new byte[34];
+        record[0] = TICKET;
+        putLong(record, 1, ticket.getId());
+        putInt(record, 9, ticket.getSession().getIndex());
+        putInt(record, 13, ticket.getSeatIndex());
+        putLong(record, 17, ticket.getIssueEpochMillis());
+        putLong(record, 25, ticket.getPrice());
+        record[33] = (byte) ((ticket.isActive() ? FLAG_ACTIVE : 0) | (ticket.isReservation() ? FLAG_RESERVATION : 0));
+        return record;
+    }
+
+    static byte[] ticketActive(Ticket ticket) {
+        byte[] record = new byte[10];
+        record[0] = TICKET_ACTIVE;
+        putLong(record, 1, ticket.getId());
+        record[9] = (byte) (ticket.isActive() ? 1 : 0);
+        return record;
+    }
+
+    /**
+     * Применяет запись к системе-реплике
+     *
+     * @param theaters залы реплики по идентификатору ведущего узла, чтобы сеансы одного зала
+     *                 разделяли схему и расписание
+     */
+    static void apply(byte[] record, TicketManagementSystem system, Map<Integer, Theater> theaters) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        switch (type) {
+            case SESSION -> {
+                int index = in.readInt();
+                String title = in.readUTF();
+                int theaterId = in.readInt();
+                String theaterName = in.readUTF();
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                Duration duration = Duration.ofSeconds(in.readLong());
+
+                int[] rowLengths = new int[in.readInt()];
+                int capacity = 0;
+                for (int row = 0; row < rowLengths.length; row++) {
+                    rowLengths[row] = in.readInt();
+                    capacity += rowLengths[row];
+                }
+                int[] positions = new int[capacity];
+                SeatCategory[] categories = new SeatCategory[capacity];
+                SeatKind[] kinds = new SeatKind[capacity];
+                for (int i = 0; i < capacity; i++) {
+                    positions[i] = in.readInt();
+                    categories[i] = CATEGORIES[in.readByte()];
+                    kinds[i] = KINDS[in.readByte()];
+                }
+                HallLayout layout = HallLayout.of(rowLengths, positions, categories, kinds);
+                Theater theater = theaters.computeIfAbsent(theaterId, id -> new Theater(theaterName, layout));
+                system.applySessionCreated(index, title, theater, dateTime, duration);
+            }
+            case SEAT -> system.applySeatStatus(in.readInt(), in.readInt(), STATUSES[in.readByte()]);
+            case TICKET -> {
+                long id = in.readLong();
+                int sessionIndex = in.readInt();
+                int seatIndex = in.readInt();
+                long issueMillis = in.readLong();
+                long price = in.readLong();
+                byte flags = in.readByte();
+                system.applyTicketIssued(id, sessionIndex, seatIndex, issueMillis, price,
+                        (flags & FLAG_ACTIVE) != 0, (flags & FLAG_RESERVATION) != 0);
+            }
+            case TICKET_ACTIVE -> system.applyTicketActive(in.readLong(), in.readByte() != 0);
+            case SEATS -> {
+                int sessionIndex = in.readInt();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    system.applySeatStatus(sessionIndex, i, STATUSES[in.readByte()]);
+                }
+            }
+            default -> throw new IOException("Неизвестный тип записи журнала: " + type);
+        }
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static void putLong(byte[] target, int offset, long value) {
+        putInt(target, offset, (int) (value >>> 32));
+        putInt(target, offset + 4, (int) value);
+    }
+}
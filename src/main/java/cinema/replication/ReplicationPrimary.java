@@ -0,0 +1,294 @@
+package cinema.replication;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatStatus;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.BookingChangeListener;
+import cinema.service.TicketManagementSystem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ведущий узел репликации: записывает все изменения системы бронирования
+ * в журнал и отправляет его резервным узлам ({@link ReplicationStandby}) по TCP.
+ * <p>
+ * Путь бронирования только кодирует изменение в несколько десятков байт и
+ * добавляет его в журнал в памяти; сетевая отправка выполняется отдельным
+ * потоком на каждого подписчика, пакетами до {@value #MAX_BATCH} записей.
+ * При отсутствии изменений подписчикам отправляются пустые пакеты-пульсы,
+ * по которым резервный узел считает отставание.
+ * <p>
+ * Протокол: резервный узел после подключения отправляет номер следующей нужной
+ * ему записи (long), после чего ведущий узел отправляет кадры:
+ * <pre>
+ * BATCH:    byte 0, long firstSequence, int count, long primaryLastSequence, long primaryMillis,
+ *           count x (long appendMillis, int length, byte[length] record)
+ * SNAPSHOT: byte 1, long baseSequence, n x (int length, byte[length] record), int -1,
+ *           long consistentSequence
+ * </pre>
+ * В ответ на каждый кадр резервный узел подтверждает номер последней примененной
+ * записи (long). Журнал хранит записи, пока их не подтвердят подключенные узлы,
+ * и не более {@code retainedRecords} последних записей сверх того.
+ * <p>
+ * Если нужные узлу записи уже удалены (или система содержала данные до подключения
+ * журнала), узел получает снимок состояния: сеансы, статусы мест и билеты на момент
+ * снимка. Снимок снимается без остановки продаж, поэтому он может включать изменения
+ * после {@code baseSequence}; записи журнала после {@code baseSequence} применяются
+ * поверх снимка идемпотентно, и состояние реплики согласовано начиная с записи
+ * {@code consistentSequence}.
+ */
+@Slf4j
+public class ReplicationPrimary implements AutoCloseable {
+    static final int MAX_BATCH = 1024;              // Максимум записей в пакете
+    static final long HEARTBEAT_MILLIS = 100;       // Интервал пульса при отсутствии изменений
+    static final long DEFAULT_RETAINED_RECORDS = 1 << 16;  // Хвост журнала для быстрого переподключения
+    static final byte FRAME_BATCH = 0;              // Кадр с записями журнала
+    static final byte FRAME_SNAPSHOT = 1;           // Кадр со снимком состояния
+
+    private final TicketManagementSystem system;        // Реплицируемая система
+    private final ChangeLog changeLog;                  // Журнал изменений
+    private final LogWriter logWriter;                  // Слушатель изменений системы
+    private final boolean initialState;                 // Система содержала сеансы до подключения журнала
+    private final ServerSocket serverSocket;            // Сокет для подключения резервных узлов
+    private final List<Socket> followers;               // Подключенные резервные узлы
+    private final Thread acceptor;                      // Поток приема подключений
+    private final Object sessionLock = new Object();    // Согласует записи сеансов с позицией снимка
+    private int loggedSessions;                         // Сеансов в системе на момент последней записи (под sessionLock)
+    private volatile boolean closed;
+
+    /**
+     * Подключает журнал изменений к системе и начинает принимать резервные узлы
+     *
+     * @param system система бронирования
+     * @param port порт на локальном адресе; 0 - любой свободный порт
+     */
+    public ReplicationPrimary(TicketManagementSystem system, int port) throws IOException {
+        this(system, port, DEFAULT_RETAINED_RECORDS);
+    }
+
+    ReplicationPrimary(TicketManagementSystem system, int port, long retainedRecords) throws IOException {
+        if (system == null) {
+            throw new IllegalArgumentException("Система бронирования должна быть указана");
+        }
+        this.system = system;
+        this.changeLog = new ChangeLog(retainedRecords);
+        this.followers = new CopyOnWriteArrayList<>();
+        this.logWriter = new LogWriter();
+        int existingSessions = system.addChangeListener(logWriter);
+        synchronized (sessionLock) {
+            loggedSessions = Math.max(loggedSessions, existingSessions);
+        }
+        this.initialState = existingSessions > 0;
+
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptFollowers, "replication-acceptor-" + getPort());
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+        log.info("Ведущий узел репликации слушает порт {}", getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Номер последней записи журнала
+     */
+    public long getLastSequence() {
+        return changeLog.getLastSequence();
+    }
+
+    /**
+     * Номер самой старой записи, хранимой в журнале
+     */
+    public long getFirstRetainedSequence() {
+        return changeLog.getFirstSequence();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        system.removeChangeListener(logWriter);
+        serverSocket.close();
+        for (Socket follower : followers) {
+            follower.close();
+        }
+        acceptor.interrupt();
+    }
+
+    private void acceptFollowers() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread shipper = new Thread(() -> ship(socket), "replication-shipper-" + socket.getPort());
+                shipper.setDaemon(true);
+                shipper.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Ошибка приема подключения резервного узла: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void ship(Socket socket) {
+        ChangeLog.Cursor cursor = null;
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            long next = in.readLong();
+            if (next < 1 || next > changeLog.getLastSequence() + 1) {
+                throw new IOException("Неверный номер записи журнала: " + next);
+            }
+            cursor = next == 1 && initialState ? null : changeLog.attach(next);
+            if (cursor == null) {
+                log.info("Резервный узел {} подключен, отправка снимка состояния", socket.getRemoteSocketAddress());
+                cursor = sendSnapshot(out);
+                next = cursor.getAcknowledged() + 1;
+            } else {
+                log.info("Резервный узел {} подключен, отправка журнала с записи {}", socket.getRemoteSocketAddress(), next);
+            }
+
+            byte[][] records = new byte[MAX_BATCH][];
+            long[] appendMillis = new long[MAX_BATCH];
+            while (!closed) {
+                while (in.available() >= Long.BYTES) {
+                    cursor.acknowledge(in.readLong());
+                }
+                int count = changeLog.awaitSequence(next, HEARTBEAT_MILLIS) ? changeLog.read(next, records, appendMillis) : 0;
+
+                out.writeByte(FRAME_BATCH);
+                out.writeLong(next);
+                out.writeInt(count);
+                out.writeLong(changeLog.getLastSequence());
+                out.writeLong(System.currentTimeMillis());
+                for (int i = 0; i < count; i++) {
+                    out.writeLong(appendMillis[i]);
+                    out.writeInt(records[i].length);
+                    out.write(records[i]);
+                    records[i] = null;
+                }
+                out.flush();
+                next += count;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SocketException | EOFException e) {
+            log.info("Резервный узел {} отключен", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            log.warn("Ошибка отправки журнала резервному узлу {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } finally {
+            if (cursor != null) {
+                cursor.detach();
+            }
+            followers.remove(socket);
+        }
+    }
+
+    /**
+     * Отправляет снимок состояния и регистрирует узел с позиции снимка. Позиция, число
+     * сеансов и регистрация фиксируются атомарно под {@code sessionLock}: сеансы с номерами
+     * от {@code sessionCount} и все последующие изменения попадут в журнал после позиции
+     * снимка, а записи с этой позиции удерживаются до подтверждения узлом.
+     */
+    private ChangeLog.Cursor sendSnapshot(DataOutputStream out) throws IOException {
+        ChangeLog.Cursor cursor;
+        long base;
+        int sessionCount;
+        synchronized (sessionLock) {
+            base = changeLog.getLastSequence();
+            cursor = changeLog.attach(base + 1);
+            sessionCount = loggedSessions;
+        }
+        try {
+            out.writeByte(FRAME_SNAPSHOT);
+            out.writeLong(base);
+            for (int i = 0; i < sessionCount; i++) {
+                MovieSession session = system.getSession(i);
+                writeSnapshotRecord(out, ChangeRecords.session(session, logWriter.theaterId(session.getTheater())));
+                writeSnapshotRecord(out, ChangeRecords.seats(session));
+            }
+            try {
+                system.forEachTicket(ticket -> {
+                    // Билеты более новых сеансов придут записями журнала после позиции снимка
+                    if (ticket.getSession().getIndex() < sessionCount) {
+                        try {
+                            writeSnapshotRecord(out, ChangeRecords.ticket(ticket));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.writeInt(-1);
+            out.writeLong(changeLog.getLastSequence());
+            out.flush();
+            return cursor;
+        } catch (IOException | RuntimeException e) {
+            cursor.detach();
+            throw e;
+        }
+    }
+
+    private static void writeSnapshotRecord(DataOutputStream out, byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    /**
+     * Кодирует изменения системы в записи журнала. Вызывается в потоке, выполнившем изменение,
+     * под блокировкой сеанса, поэтому порядок записей совпадает с порядком изменений каждого
+     * сеанса. Билеты разных сеансов могут попасть в журнал не в порядке ID: запись несет ID
+     * билета, и реплика восстанавливает его в своей строке хранилища.
+     */
+    private class LogWriter implements BookingChangeListener {
+        private final Map<Theater, Integer> theaterIds = new IdentityHashMap<>();  // Идентификаторы залов
+
+        @Override
+        public void onSessionCreated(MovieSession session) {
+            byte[] record = ChangeRecords.session(session, theaterId(session.getTheater()));
+            synchronized (sessionLock) {
+                changeLog.append(record);
+                loggedSessions = session.getIndex() + 1;
+            }
+        }
+
+        /**
+         * Идентификатор зала: залы различаются по объекту, как в расписаниях системы
+         */
+        private synchronized int theaterId(Theater theater) {
+            return theaterIds.computeIfAbsent(theater, key -> theaterIds.size() + 1);
+        }
+
+        @Override
+        public void onSeatStatusChanged(MovieSession session, Seat seat, SeatStatus oldStatus, SeatStatus newStatus) {
+            int seatIndex = session.getTheater().getSeatIndex(seat);
+            changeLog.append(ChangeRecords.seat(session.getIndex(), seatIndex, newStatus));
+        }
+
+        @Override
+        public void onTicketIssued(Ticket ticket) {
+            changeLog.append(ChangeRecords.ticket(ticket));
+        }
+
+        @Override
+        public void onTicketActiveChanged(Ticket ticket) {
+            changeLog.append(ChangeRecords.ticketActive(ticket));
+        }
+    }
+}
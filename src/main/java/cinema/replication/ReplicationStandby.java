@@ -0,0 +1,249 @@
+package cinema.replication;
+
+import cinema.model.Theater;
+import cinema.service.TicketManagementSystem;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Резервный узел репликации: получает журнал изменений от {@link ReplicationPrimary}
+ * и применяет его к собственной системе бронирования.
+ * <p>
+ * Записи применяются по одной в порядке номеров; номер последней примененной
+ * записи публикуется после каждой записи. При обрыве соединения узел
+ * переподключается и запрашивает журнал со следующей непримененной записи; если
+ * эти записи уже удалены из журнала ведущего узла, он присылает снимок состояния,
+ * который применяется поверх текущего состояния реплики.
+ * Ошибка применения записи останавливает репликацию: состояние реплики
+ * больше не соответствует журналу, и переключение на нее запрещено.
+ * {@link #promote()} останавливает репликацию и возвращает систему для обслуживания
+ * клиентов: ID билетов и сеансов продолжают последовательность ведущего узла.
+ * <p>
+ * Листы ожидания не реплицируются: ожидающие покупатели подключены к ведущему узлу.
+ */
+@Slf4j
+public class ReplicationStandby implements AutoCloseable {
+    private static final long RECONNECT_MILLIS = 200;   // Пауза перед повторным подключением
+
+    private final String host;                          // Адрес ведущего узла
+    private final int port;                             // Порт ведущего узла
+    @Getter
+    private final TicketManagementSystem system;        // Система бронирования реплики
+    private final Map<Integer, Theater> theaters;       // Залы реплики по идентификатору ведущего узла
+    private final Object progress;                      // Монитор ожидания применения записей
+    private final Thread worker;                        // Поток получения и применения журнала
+    private volatile Socket socket;                     // Текущее подключение
+    private volatile boolean stopped;
+    private volatile RuntimeException applyFailure;     // Ошибка применения журнала (null, если ее не было)
+    private long appliedAppendMillis;                   // Время добавления последней примененной записи
+    private long consistentSequence;                    // Запись, с которой согласовано состояние после снимка
+    @Getter
+    private volatile long appliedSequence;              // Номер последней примененной записи
+    @Getter
+    private volatile long primarySequence;              // Номер последней записи ведущего узла
+    @Getter
+    private volatile long lagMillis;                    // Отставание от ведущего узла в миллисекундах
+
+    public ReplicationStandby(String host, int port) {
+        if (host == null || host.isBlank() || port <= 0) {
+            throw new IllegalArgumentException("Адрес ведущего узла указан неверно");
+        }
+        this.host = host;
+        this.port = port;
+        this.system = new TicketManagementSystem();
+        this.theaters = new HashMap<>();
+        this.progress = new Object();
+        this.worker = new Thread(this::replicate, "replication-standby-" + port);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Отставание от ведущего узла в записях журнала
+     */
+    public long getLagRecords() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    /**
+     * Ждет применения записи с номером {@code sequence}
+     *
+     * @return true, если запись применена до истечения времени ожидания
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            long remaining;
+            while (appliedSequence < sequence && (remaining = deadline - System.nanoTime()) > 0) {
+                progress.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return appliedSequence >= sequence;
+        }
+    }
+
+    /**
+     * Репликация остановлена из-за ошибки применения журнала
+     */
+    public boolean isFailed() {
+        return applyFailure != null;
+    }
+
+    /**
+     * Останавливает репликацию и возвращает систему для работы в роли ведущего узла.
+     * Записи, полученные, но еще не примененные, отбрасываются.
+     *
+     * @throws IllegalStateException если журнал не удалось применить или реплика еще
+     *                               не догнала журнал после снимка состояния
+     */
+    public TicketManagementSystem promote() throws InterruptedException {
+        close();
+        worker.join();
+        if (applyFailure != null) {
+            throw new IllegalStateException("Реплика не согласована с ведущим узлом: ошибка применения записи " +
+                    (appliedSequence + 1), applyFailure);
+        }
+        if (appliedSequence < consistentSequence) {
+            throw new IllegalStateException("Реплика не согласована с ведущим узлом: после снимка состояния " +
+                    "применено записей до " + appliedSequence + " из " + consistentSequence);
+        }
+        log.info("Резервный узел переведен в роль ведущего, применено записей: {}", appliedSequence);
+        return system;
+    }
+
+    @Override
+    public void close() {
+        stopped = true;
+        worker.interrupt();
+        closeSocket();
+    }
+
+    private void replicate() {
+        while (!stopped) {
+            try (Socket connection = new Socket(host, port)) {
+                socket = connection;
+                if (stopped) {
+                    return;
+                }
+                connection.setTcpNoDelay(true);
+                receive(connection);
+            } catch (IOException e) {
+                if (!stopped) {
+                    log.warn("Соединение с ведущим узлом {}:{} потеряно: {}", host, port, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Журнал не применяется к состоянию реплики - повторное подключение не поможет
+                log.error("Ошибка применения журнала на записи {}, репликация остановлена", appliedSequence + 1, e);
+                applyFailure = e;
+                stopped = true;
+                return;
+            }
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void receive(Socket connection) throws IOException {
+        DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+        out.writeLong(appliedSequence + 1);
+        out.flush();
+
+        while (!stopped) {
+            byte frame = in.readByte();
+            if (frame == ReplicationPrimary.FRAME_SNAPSHOT) {
+                receiveSnapshot(in);
+            } else if (frame == ReplicationPrimary.FRAME_BATCH) {
+                receiveBatch(in);
+            } else {
+                throw new IOException("Неизвестный тип кадра репликации: " + frame);
+            }
+            out.writeLong(appliedSequence);
+            out.flush();
+        }
+    }
+
+    private void receiveSnapshot(DataInputStream in) throws IOException {
+        long base = in.readLong();
+        List<byte[]> records = new ArrayList<>();
+        for (int length = in.readInt(); length >= 0; length = in.readInt()) {
+            byte[] record = new byte[length];
+            in.readFully(record);
+            records.add(record);
+        }
+        long consistent = in.readLong();
+        if (base < appliedSequence) {
+            throw new IOException("Снимок состояния старше реплики: " + base + " < " + appliedSequence);
+        }
+
+        log.info("Применение снимка состояния на записи {}: {} записей", base, records.size());
+        for (byte[] record : records) {
+            ChangeRecords.apply(record, system, theaters);
+        }
+        consistentSequence = consistent;
+        synchronized (progress) {
+            appliedSequence = base;
+            progress.notifyAll();
+        }
+    }
+
+    private void receiveBatch(DataInputStream in) throws IOException {
+        long first = in.readLong();
+        int count = in.readInt();
+        long primaryLast = in.readLong();
+        long primaryMillis = in.readLong();
+
+        // Пакет читается целиком до применения, чтобы обрыв связи не оставил его примененным частично
+        long[] appendMillis = new long[count];
+        byte[][] records = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            appendMillis[i] = in.readLong();
+            records[i] = new byte[in.readInt()];
+            in.readFully(records[i]);
+        }
+
+        // Номер публикуется после каждой записи, чтобы он не опережал состояние реплики при ошибке
+        try {
+            for (int i = 0; i < count; i++) {
+                long sequence = first + i;
+                if (sequence <= appliedSequence) {
+                    continue;  // Запись уже применена до переподключения
+                }
+                if (sequence != appliedSequence + 1) {
+                    throw new IOException("Пропуск в журнале: ожидалась запись " + (appliedSequence + 1) +
+                            ", получена " + sequence);
+                }
+                ChangeRecords.apply(records[i], system, theaters);
+                appliedAppendMillis = appendMillis[i];
+                appliedSequence = sequence;
+            }
+        } finally {
+            primarySequence = primaryLast;
+            lagMillis = appliedSequence >= primaryLast ? 0 : Math.max(0, primaryMillis - appliedAppendMillis);
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.debug("Ошибка закрытия соединения: {}", e.getMessage());
+            }
+        }
+    }
+}
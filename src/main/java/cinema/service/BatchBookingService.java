@@ -0,0 +1,271 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.Ticket;
+import cinema.monitoring.BatchCommitEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пакетное асинхронное бронирование для касс и партнеров.
+ * <p>
+ * Команды раскладываются по очередям сеансов. Для каждой очереди одновременно
+ * работает не более одной задачи, которая под одной блокировкой сеанса выполняет
+ * все накопившиеся команды (групповая фиксация). Чем выше поток команд, тем
+ * больше команд обрабатывается за один захват блокировки. Результаты выдаются
+ * через {@link CompletableFuture} уже после освобождения блокировки.
+ */
+@Slf4j
+public class BatchBookingService {
+    private static final int DEFAULT_WINDOW = 256;
+
+    private final TicketManagementSystem ticketSystem;       // Система управления билетами
+    private final Executor executor;                         // Исполнитель задач обработки очередей
+    private final Map<String, SessionQueue> queues;          // Очереди команд (id сеанса -> очередь)
+
+    public BatchBookingService(TicketManagementSystem ticketSystem) {
+        this(ticketSystem, ForkJoinPool.commonPool());
+    }
+
+    public BatchBookingService(TicketManagementSystem ticketSystem, Executor executor) {
+        if (ticketSystem == null || executor == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        this.ticketSystem = ticketSystem;
+        this.executor = executor;
+        this.queues = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Ставит команду в очередь сеанса
+     *
+     * @return результат выполнения команды
+     */
+    public CompletableFuture<Ticket> submit(BookingCommand command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Команда не может быть null");
+        }
+        SessionQueue queue = queueOf(command);
+        if (queue != null) {
+            queue.pending.add(command);
+            schedule(queue);
+        }
+        return command.getResult();
+    }
+
+    /**
+     * Ставит в очередь пакет команд: команды группируются по сеансам,
+     * и каждая группа планируется к выполнению один раз
+     *
+     * @return результаты в порядке команд
+     */
+    public List<CompletableFuture<Ticket>> submitAll(List<BookingCommand> commands) {
+        if (commands == null) {
+            throw new IllegalArgumentException("Список команд не может быть null");
+        }
+
+        Map<SessionQueue, List<BookingCommand>> groups = new LinkedHashMap<>();
+        List<CompletableFuture<Ticket>> results = new ArrayList<>(commands.size());
+        for (BookingCommand command : commands) {
+            if (command == null) {
+                throw new IllegalArgumentException("Команда не может быть null");
+            }
+            SessionQueue queue = queueOf(command);
+            if (queue != null) {
+                groups.computeIfAbsent(queue, key -> new ArrayList<>()).add(command);
+            }
+            results.add(command.getResult());
+        }
+
+        groups.forEach((queue, group) -> {
+            queue.pending.addAll(group);
+            schedule(queue);
+        });
+        return results;
+    }
+
+    /**
+     * Подписывается на поток команд. Команды запрашиваются окнами и выполняются
+     * конвейерно по мере поступления, не дожидаясь окончания потока.
+     *
+     * @return будущее, завершающееся после обработки всех команд потока
+     */
+    public CompletableFuture<Void> subscribe(Flow.Publisher<BookingCommand> publisher) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("Источник команд не может быть null");
+        }
+        CommandSubscriber subscriber = new CommandSubscriber(DEFAULT_WINDOW);
+        publisher.subscribe(subscriber);
+        return subscriber.completion;
+    }
+
+    /**
+     * Очередь сеанса команды или null, если сеанс не найден (команда сразу завершается ошибкой).
+     * Очереди создаются только для существующих сеансов, поэтому неверные ID не накапливают очереди.
+     */
+    private SessionQueue queueOf(BookingCommand command) {
+        MovieSession session;
+        try {
+            session = ticketSystem.requireSession(command.getSessionId());
+        } catch (RuntimeException e) {
+            command.getResult().completeExceptionally(e);
+            return null;
+        }
+        return queues.computeIfAbsent(session.getSessionId(), id -> new SessionQueue(session));
+    }
+
+    /**
+     * Планирует задачу обработки очереди. Если исполнитель отклонил задачу, очередь
+     * снова доступна для планирования, а ожидающие команды завершаются ошибкой.
+     */
+    private void schedule(SessionQueue queue) {
+        if (queue.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(queue));
+            } catch (RejectedExecutionException e) {
+                queue.scheduled.set(false);
+                BookingCommand command;
+                while ((command = queue.pending.poll()) != null) {
+                    command.getResult().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void drain(SessionQueue queue) {
+        List<BookingCommand> batch = new ArrayList<>();
+        List<Object> outcomes = new ArrayList<>();
+        Throwable failure = null;
+        try {
+            BookingCommand command;
+            while ((command = queue.pending.poll()) != null) {
+                batch.add(command);
+            }
+            if (!batch.isEmpty()) {
+                execute(queue.session, batch, outcomes);
+            }
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            queue.scheduled.set(false);
+            // Команды, пришедшие после опустошения очереди, обрабатываются следующей задачей
+            if (!queue.pending.isEmpty()) {
+                schedule(queue);
+            }
+            complete(batch, outcomes, failure);
+        }
+    }
+
+    private void execute(MovieSession session, List<BookingCommand> batch, List<Object> outcomes) {
+        String sessionId = session.getSessionId();
+        BatchCommitEvent event = BatchCommitEvent.start();
+        int failed = 0;
+        BookingCommand first = batch.get(0);
+        session.lock(session.getTheater().getLayout().indexOf(first.getRow(), first.getSeatNumber()));
+        try {
+            for (BookingCommand command : batch) {
+                try {
+                    outcomes.add(ticketSystem.bookLocked(session, command.getRow(), command.getSeatNumber(),
+                            command.getType() == BookingType.RESERVE));
+                } catch (RuntimeException e) {
+                    outcomes.add(e);
+                    failed++;
+                }
+            }
+        } finally {
+            session.unlock();
+            event.finish(sessionId, batch.size(), failed);
+        }
+        log.debug("Обработан пакет из {} команд для сеанса {}", batch.size(), sessionId);
+    }
+
+    /**
+     * Завершает команды пакета; команды без результата (пакет прерван ошибкой) завершаются этой ошибкой
+     */
+    private static void complete(List<BookingCommand> batch, List<Object> outcomes, Throwable failure) {
+        for (int i = 0; i < batch.size(); i++) {
+            Object outcome = i < outcomes.size() ? outcomes.get(i)
+                    : failure != null ? failure : new IllegalStateException("Команда не выполнена");
+            if (outcome instanceof Ticket ticket) {
+                batch.get(i).getResult().complete(ticket);
+            } else {
+                batch.get(i).getResult().completeExceptionally((Throwable) outcome);
+            }
+        }
+    }
+
+    /**
+     * Очередь команд одного сеанса
+     */
+    private static final class SessionQueue {
+        private final MovieSession session;
+        private final Queue<BookingCommand> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private SessionQueue(MovieSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * Подписчик на поток команд с запросом окнами
+     */
+    private final class CommandSubscriber implements Flow.Subscriber<BookingCommand> {
+        private final int window;
+        private final AtomicLong inFlight = new AtomicLong(1);  // Команды в обработке плюс сам поток
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private int received;
+
+        private CommandSubscriber(int window) {
+            this.window = window;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(window);
+        }
+
+        @Override
+        public void onNext(BookingCommand command) {
+            inFlight.incrementAndGet();
+            submit(command).whenComplete((ticket, error) -> finish());
+            if (++received == window) {
+                received = 0;
+                subscription.request(window);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        private void finish() {
+            if (inFlight.decrementAndGet() == 0) {
+                completion.complete(null);
+            }
+        }
+    }
+}
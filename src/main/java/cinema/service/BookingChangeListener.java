@@ -0,0 +1,18 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.SeatStatusListener;
+import cinema.model.TicketListener;
+
+/**
+ * Слушатель всех изменений состояния системы бронирования: создание сеансов,
+ * изменение статусов мест и выпуск/отмена билетов. Методы вызываются
+ * синхронно в потоке, выполнившем изменение.
+ */
+public interface BookingChangeListener extends SeatStatusListener, TicketListener {
+
+    /**
+     * Вызывается после регистрации сеанса, до того как он становится доступен для продаж
+     */
+    void onSessionCreated(MovieSession session);
+}
@@ -0,0 +1,43 @@
+package cinema.service;
+
+import cinema.model.Ticket;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Команда пакетного бронирования. Результат выполнения (билет или исключение)
+ * доступен через {@link #getResult()}.
+ */
+@Getter
+public class BookingCommand {
+    private final BookingType type;                    // Покупка или бронирование
+    private final String sessionId;                    // Идентификатор сеанса
+    private final int row;                             // Ряд
+    private final int seatNumber;                      // Номер места
+    private final CompletableFuture<Ticket> result;    // Результат выполнения команды
+
+    public BookingCommand(BookingType type, String sessionId, int row, int seatNumber) {
+        if (type == null) {
+            throw new IllegalArgumentException("Тип команды должен быть указан");
+        }
+        this.type = type;
+        this.sessionId = sessionId;
+        this.row = row;
+        this.seatNumber = seatNumber;
+        this.result = new CompletableFuture<>();
+    }
+
+    public static BookingCommand buy(String sessionId, int row, int seatNumber) {
+        return new BookingCommand(BookingType.BUY, sessionId, row, seatNumber);
+    }
+
+    public static BookingCommand reserve(String sessionId, int row, int seatNumber) {
+        return new BookingCommand(BookingType.RESERVE, sessionId, row, seatNumber);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + sessionId + ": Ряд " + row + ", Место " + seatNumber;
+    }
+}
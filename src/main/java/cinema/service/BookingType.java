@@ -0,0 +1,6 @@
+package cinema.service;
+
+public enum BookingType {
+    BUY,      // Покупка билета
+    RESERVE   // Бронирование места
+}
@@ -0,0 +1,102 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.model.TimeSlot;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Расписание одного зала: сеансы, упорядоченные по времени начала.
+ * <p>
+ * Сеансы зала не пересекаются, поэтому и концы сеансов упорядочены так же,
+ * как начала. Проверка пересечения смотрит только на соседей по времени
+ * начала и выполняется за O(log n).
+ */
+public class TheaterSchedule {
+    @Getter
+    private final Theater theater;                                // Зал
+    private final NavigableMap<LocalDateTime, MovieSession> byStart;  // Сеансы по времени начала
+
+    public TheaterSchedule(Theater theater) {
+        if (theater == null) {
+            throw new IllegalArgumentException("Зал должен быть указан");
+        }
+        this.theater = theater;
+        this.byStart = new TreeMap<>();
+    }
+
+    /**
+     * Сеанс, пересекающийся с интервалом, или null, если интервал свободен
+     */
+    public synchronized MovieSession findConflict(TimeSlot slot) {
+        Map.Entry<LocalDateTime, MovieSession> before = byStart.floorEntry(slot.getStart());
+        if (before != null && before.getValue().getEndTime().isAfter(slot.getStart())) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, MovieSession> after = byStart.higherEntry(slot.getStart());
+        if (after != null && after.getKey().isBefore(slot.getEnd())) {
+            return after.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Добавляет сеанс в расписание
+     *
+     * @throws IllegalStateException если зал в это время занят
+     */
+    public synchronized void add(MovieSession session) {
+        MovieSession conflict = findConflict(session.getTimeSlot());
+        if (conflict != null) {
+            throw new IllegalStateException("Зал " + theater.getName() + " занят сеансом " +
+                    conflict.getSessionId() + " (" + conflict.getTimeSlot() + ")");
+        }
+        byStart.put(session.getDateTime(), session);
+    }
+
+    /**
+     * Свободные интервалы зала в указанный день
+     */
+    public synchronized List<TimeSlot> getFreeSlots(LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        List<TimeSlot> free = new ArrayList<>();
+
+        // Сеанс, начавшийся накануне, может занимать начало дня
+        LocalDateTime cursor = dayStart;
+        Map.Entry<LocalDateTime, MovieSession> previous = byStart.lowerEntry(dayStart);
+        if (previous != null && previous.getValue().getEndTime().isAfter(cursor)) {
+            cursor = previous.getValue().getEndTime();
+        }
+
+        for (MovieSession session : byStart.subMap(dayStart, true, dayEnd, false).values()) {
+            if (session.getDateTime().isAfter(cursor)) {
+                free.add(new TimeSlot(cursor, session.getDateTime()));
+            }
+            if (session.getEndTime().isAfter(cursor)) {
+                cursor = session.getEndTime();
+            }
+        }
+
+        if (cursor.isBefore(dayEnd)) {
+            free.add(new TimeSlot(cursor, dayEnd));
+        }
+        return free;
+    }
+
+    /**
+     * Сеансы зала в указанный день в порядке начала
+     */
+    public synchronized List<MovieSession> getSessions(LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        return new ArrayList<>(byStart.subMap(dayStart, true, dayStart.plusDays(1), false).values());
+    }
+}
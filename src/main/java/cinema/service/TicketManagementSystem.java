@@ -1,90 +1,311 @@
 package cinema.service;
 
+import cinema.analytics.OccupancyAnalytics;
 import cinema.model.*;
+import cinema.monitoring.BookingEvent;
+import cinema.monitoring.SeatConflictEvent;
+import cinema.pricing.PricingEngine;
 
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 // ... существующий код ...
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 @Service
 public class TicketManagementSystem {
     private final Map<String, MovieSession> sessions;  // Мапа сеансов (id -> сеанс)
 // ... существующий код ...
-    private final Map<String, Ticket> tickets;         // Мапа билетов (id -> билет)
-    private int ticketCounter;                         // Счетчик для генерации ID билетов
+    private final TicketStore tickets;                 // Колоночное хранилище билетов
+    private final Object sessionRegistryLock;          // Блокировка регистрации сеансов
+    private volatile MovieSession[] sessionTable;      // Сеансы по порядковому номеру
+    private int sessionCount;                          // Количество зарегистрированных сеансов
+    private final Map<Theater, TheaterSchedule> schedules;  // Расписания залов
+    private final OccupancyAnalytics analytics;        // Аналитика заполняемости
+    private final PricingEngine pricingEngine;         // Движок ценообразования
+    private final Waitlist waitlist;                   // Листы ожидания сеансов
+    private final List<BookingChangeListener> changeListeners;  // Слушатели всех изменений состояния
     private static final String SESSION_NOT_FOUND = "Сеанс не найден: ";
+    private static final long FIRST_TICKET_ID = 1001;
 
     public TicketManagementSystem() {
-        this.sessions = new HashMap<>();
-        this.tickets = new HashMap<>();
-        this.ticketCounter = 1000;
+        this.sessions = new ConcurrentHashMap<>();
+        this.tickets = new TicketStore(FIRST_TICKET_ID, index -> sessionTable[index]);
+        this.sessionRegistryLock = new Object();
+        this.sessionTable = new MovieSession[16];
+        this.schedules = new ConcurrentHashMap<>();
+        this.analytics = new OccupancyAnalytics();
+        this.pricingEngine = new PricingEngine();
+        this.waitlist = new Waitlist(this);
+        this.changeListeners = new CopyOnWriteArrayList<>();
+        this.tickets.setListener(new TicketListener() {
+            @Override
+            public void onTicketIssued(Ticket ticket) {
+                changeListeners.forEach(listener -> listener.onTicketIssued(ticket));
+            }
+
+            @Override
+            public void onTicketActiveChanged(Ticket ticket) {
+                changeListeners.forEach(listener -> listener.onTicketActiveChanged(ticket));
+            }
+        });
     }
 
     /**
-     * Создает новый киносеанс
+     * Создает новый киносеанс стандартной длительности
      */
     public MovieSession createMovieSession(String movieTitle, Theater theater, LocalDateTime dateTime) {
-        String sessionId = "S" + (sessions.size() + 1);
-        MovieSession session = new MovieSession(sessionId, movieTitle, theater, dateTime);
-        sessions.put(sessionId, session);
+        return createMovieSession(movieTitle, theater, dateTime, MovieSession.DEFAULT_DURATION);
+    }
+
+    /**
+     * Создает новый киносеанс указанной длительности
+     *
+     * @throws IllegalStateException если зал в это время занят другим сеансом
+     */
+    public MovieSession createMovieSession(String movieTitle, Theater theater, LocalDateTime dateTime, Duration duration) {
+        if (movieTitle == null || theater == null || dateTime == null || duration == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+
+        TheaterSchedule schedule = schedules.computeIfAbsent(theater, TheaterSchedule::new);
+        MovieSession session;
+        // Проверка пересечения и регистрация сеанса выполняются атомарно для зала
+        synchronized (schedule) {
+            MovieSession conflict = schedule.findConflict(new TimeSlot(dateTime, dateTime.plus(duration)));
+            if (conflict != null) {
+                throw new IllegalStateException("Зал " + theater.getName() + " занят сеансом " +
+                        conflict.getSessionId() + " (" + conflict.getTimeSlot() + ")");
+            }
+            session = registerSession(-1, movieTitle, theater, dateTime, duration);
+            schedule.add(session);
+        }
         return session;
     }
 
     /**
-     * Возвращает список всех доступных сеансов
+     * Регистрирует сеанс под следующим порядковым номером
+     *
+     * @param expectedIndex ожидаемый порядковый номер или -1, если номер не проверяется
      */
-    public List<MovieSession> getAvailableSessions() {
-        return new ArrayList<>(sessions.values());
+    private MovieSession registerSession(int expectedIndex, String movieTitle, Theater theater,
+                                         LocalDateTime dateTime, Duration duration) {
+        synchronized (sessionRegistryLock) {
+            int index = sessionCount;
+            if (expectedIndex >= 0 && expectedIndex != index) {
+                throw new IllegalStateException("Ожидался сеанс с номером " + index + ", получен " + expectedIndex);
+            }
+            MovieSession session = new MovieSession(index, "S" + (index + 1), movieTitle, theater, dateTime, duration);
+            if (index == sessionTable.length) {
+                sessionTable = Arrays.copyOf(sessionTable, index * 2);
+            }
+            sessionTable[index] = session;
+            sessionCount = index + 1;
+
+            // Подписчики подключаются до публикации сеанса, чтобы не пропустить ни одного изменения мест
+            analytics.register(session);
+            pricingEngine.register(session);
+            for (BookingChangeListener listener : changeListeners) {
+                session.addSeatStatusListener(listener);
+                listener.onSessionCreated(session);
+            }
+
+            sessions.put(session.getSessionId(), session);
+            return session;
+        }
     }
 
     /**
-     * Возвращает сеанс по ID
+     * Подписывает слушателя на все изменения состояния системы. Сеансы, созданные
+     * до подписки, не сообщаются, но изменения их мест сообщаются.
+     *
+     * @return количество сеансов, созданных до подписки
      */
-    public MovieSession getSession(String sessionId) {
-        return sessions.get(sessionId);
+    public int addChangeListener(BookingChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Слушатель не может быть null");
+        }
+        synchronized (sessionRegistryLock) {
+            changeListeners.add(listener);
+            for (int i = 0; i < sessionCount; i++) {
+                sessionTable[i].addSeatStatusListener(listener);
+            }
+            return sessionCount;
+        }
     }
 
     /**
-     * Покупка билета на указанное место
+     * Отписывает слушателя от всех изменений состояния системы
      */
-    public Ticket buyTicket(String sessionId, int row, int seatNumber) {
-        if (sessionId == null || sessionId.trim().isEmpty()) {
-            throw new IllegalArgumentException("ID сеанса не может быть пустым");
+    public void removeChangeListener(BookingChangeListener listener) {
+        synchronized (sessionRegistryLock) {
+            changeListeners.remove(listener);
+            for (int i = 0; i < sessionCount; i++) {
+                sessionTable[i].removeSeatStatusListener(listener);
+            }
         }
+    }
 
-        MovieSession session = getSession(sessionId);
-        if (session == null) {
-            throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
+    /**
+     * Количество зарегистрированных сеансов
+     */
+    public int getSessionCount() {
+        synchronized (sessionRegistryLock) {
+            return sessionCount;
         }
+    }
 
-        Seat seat = new Seat(row, seatNumber);
-        if (session.isSeatNotValid(seat)) {
-            throw new IllegalArgumentException("Неверное место: " + seat);
+    /**
+     * Возвращает сеанс по порядковому номеру
+     */
+    public MovieSession getSession(int index) {
+        MovieSession[] table = sessionTable;
+        if (index < 0 || index >= table.length || table[index] == null) {
+            throw new IllegalArgumentException("Сеанс с номером " + index + " не найден");
         }
+        return table[index];
+    }
 
-        SeatStatus status = session.getSeatStatus(seat);
-        if (status != SeatStatus.FREE) {
-            throw new IllegalStateException("Место уже " +
-                    (status == SeatStatus.SOLD ? "продано" : "забронировано"));
+    /**
+     * Применяет создание сеанса из журнала изменений (для реплики);
+     * уже зарегистрированный сеанс с этим номером не изменяется
+     */
+    public MovieSession applySessionCreated(int index, String movieTitle, Theater theater,
+                                            LocalDateTime dateTime, Duration duration) {
+        synchronized (sessionRegistryLock) {
+            if (index >= 0 && index < sessionCount) {
+                return sessionTable[index];
+            }
         }
+        TheaterSchedule schedule = schedules.computeIfAbsent(theater, TheaterSchedule::new);
+        synchronized (schedule) {
+            MovieSession session = registerSession(index, movieTitle, theater, dateTime, duration);
+            schedule.add(session);
+            return session;
+        }
+    }
 
-        String ticketId = generateTicketId();
-        Ticket ticket = new Ticket(ticketId, session, seat, false);
-        session.setSeatStatus(seat, SeatStatus.SOLD);
-        tickets.put(ticketId, ticket);
+    /**
+     * Применяет изменение статуса места из журнала изменений (для реплики)
+     */
+    public void applySeatStatus(int sessionIndex, int seatIndex, SeatStatus status) {
+        MovieSession session = getSession(sessionIndex);
+        session.lock(seatIndex);
+        try {
+            session.setSeatStatus(seatIndex, status);
+        } finally {
+            session.unlock();
+        }
+    }
 
-        return ticket;
+    /**
+     * Применяет выпуск билета из журнала изменений (для реплики); билеты могут применяться в любом порядке ID.
+     * Для уже восстановленного билета (например, из снимка состояния) обновляется только признак действительности.
+     */
+    public Ticket applyTicketIssued(long id, int sessionIndex, int seatIndex, long issueMillis, long price,
+                                   boolean active, boolean isReservation) {
+        getSession(sessionIndex);
+        Ticket existing = tickets.get(id);
+        if (existing != null) {
+            existing.setActive(active);
+            return existing;
+        }
+        return tickets.restore(id, sessionIndex, seatIndex, issueMillis, price, active, isReservation);
+    }
+
+    /**
+     * Применяет изменение признака действительности билета из журнала изменений (для реплики)
+     */
+    public void applyTicketActive(long id, boolean active) {
+        Ticket ticket = tickets.get(id);
+        if (ticket == null) {
+            throw new IllegalStateException("Билет не найден: T" + id);
+        }
+        ticket.setActive(active);
+    }
+
+    /**
+     * Свободные интервалы зала в указанный день
+     */
+    public List<TimeSlot> getFreeSlots(Theater theater, LocalDate date) {
+        if (theater == null || date == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        TheaterSchedule schedule = schedules.get(theater);
+        if (schedule == null) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            return List.of(new TimeSlot(dayStart, dayStart.plusDays(1)));
+        }
+        return schedule.getFreeSlots(date);
+    }
+
+    /**
+     * Расписание зала (null, если в зале еще нет сеансов)
+     */
+    public TheaterSchedule getSchedule(Theater theater) {
+        return theater == null ? null : schedules.get(theater);
+    }
+
+    /**
+     * Возвращает список всех доступных сеансов
+     */
+    public List<MovieSession> getAvailableSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * Возвращает сеанс по ID
+     */
+    public MovieSession getSession(String sessionId) {
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    /**
+     * Покупка билета на указанное место
+     */
+    public Ticket buyTicket(String sessionId, int row, int seatNumber) {
+        return book(sessionId, row, seatNumber, false);
     }
 
     /**
      * Бронирование места
      */
     public Ticket reserveTicket(String sessionId, int row, int seatNumber) {
+        return book(sessionId, row, seatNumber, true);
+    }
+
+    private Ticket book(String sessionId, int row, int seatNumber, boolean isReservation) {
+        BookingEvent event = BookingEvent.start();
+        Ticket ticket = null;
+        MovieSession session = requireSession(sessionId);
+        session.lock(session.getTheater().getLayout().indexOf(row, seatNumber));
+        try {
+            ticket = bookLocked(session, row, seatNumber, isReservation);
+            return ticket;
+        } finally {
+            session.unlock();
+            event.finish(operationOf(isReservation), sessionId,
+                    ticket != null ? ticket.getSeatIndex() : session.getTheater().getLayout().indexOf(row, seatNumber),
+                    1, ticket != null);
+        }
+    }
+
+    private static String operationOf(boolean isReservation) {
+        return isReservation ? BookingEvent.RESERVE : BookingEvent.BUY;
+    }
+
+    /**
+     * Проверяет ID сеанса и возвращает сеанс
+     */
+    MovieSession requireSession(String sessionId) {
         if (sessionId == null || sessionId.trim().isEmpty()) {
             throw new IllegalArgumentException("ID сеанса не может быть пустым");
         }
@@ -93,7 +314,13 @@ public class TicketManagementSystem {
         if (session == null) {
             throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
         }
+        return session;
+    }
 
+    /**
+     * Покупка или бронирование места; вызывающий должен удерживать блокировку сеанса
+     */
+    Ticket bookLocked(MovieSession session, int row, int seatNumber, boolean isReservation) {
         Seat seat = new Seat(row, seatNumber);
         if (session.isSeatNotValid(seat)) {
             throw new IllegalArgumentException("Неверное место: " + seat);
@@ -101,15 +328,23 @@ public class TicketManagementSystem {
 
         SeatStatus status = session.getSeatStatus(seat);
         if (status != SeatStatus.FREE) {
+            SeatConflictEvent.emit(operationOf(isReservation), session.getSessionId(),
+                    session.getTheater().getSeatIndex(seat), row, seatNumber, status.name());
             throw new IllegalStateException("Место уже " +
                     (status == SeatStatus.SOLD ? "продано" : "забронировано"));
         }
 
-        String ticketId = generateTicketId();
-        Ticket ticket = new Ticket(ticketId, session, seat, true);
-        session.setSeatStatus(seat, SeatStatus.RESERVED);
-        tickets.put(ticketId, ticket);
+        int seatIndex = session.getTheater().getSeatIndex(seat);
+        return issueLocked(session, seatIndex, pricingEngine.quote(session, seatIndex), isReservation);
+    }
 
+    /**
+     * Выпуск билета на свободное место по индексу; вызывающий должен удерживать
+     * блокировку сеанса и проверить, что место свободно
+     */
+    Ticket issueLocked(MovieSession session, int seatIndex, long price, boolean isReservation) {
+        Ticket ticket = tickets.issue(session, seatIndex, price, isReservation);
+        session.setSeatStatus(seatIndex, isReservation ? SeatStatus.RESERVED : SeatStatus.SOLD);
         return ticket;
     }
 
@@ -117,54 +352,69 @@ public class TicketManagementSystem {
      * Отмена билета (возврат или отмена брони)
      */
     public void cancelTicket(String ticketId) {
-        Ticket ticket = tickets.get(ticketId);
-        if (ticket == null) {
-            throw new IllegalArgumentException("Билет не найден: " + ticketId);
-        }
+        Ticket ticket = requireTicket(ticketId);
+        MovieSession session = ticket.getSession();
 
-        if (!ticket.isActive()) {
-            throw new IllegalStateException("Билет уже отменен");
-        }
+        session.lock(ticket.getSeatIndex());
+        try {
+            if (!ticket.isActive()) {
+                throw new IllegalStateException("Билет уже отменен");
+            }
 
-        MovieSession session = ticket.getSession();
-        Seat seat = ticket.getSeat();
+            session.setSeatStatus(ticket.getSeatIndex(), SeatStatus.FREE);
+            ticket.setActive(false);
 
-        session.setSeatStatus(seat, SeatStatus.FREE);
-        ticket.setActive(false);
+            // Освободившееся место сразу предлагается листу ожидания
+            waitlist.onSeatFreed(session, ticket.getSeatIndex());
+        } finally {
+            session.unlock();
+        }
     }
 
     /**
      * Подтверждение брони (превращение брони в проданный билет)
      */
     public Ticket confirmReservation(String ticketId) {
-        Ticket reservationTicket = tickets.get(ticketId);
-        if (reservationTicket == null) {
-            throw new IllegalArgumentException("Билет не найден: " + ticketId);
-        }
+        BookingEvent event = BookingEvent.start();
+        Ticket reservationTicket = requireTicket(ticketId);
+        MovieSession session = reservationTicket.getSession();
+        boolean confirmed = false;
 
-        if (!reservationTicket.isActive()) {
-            throw new IllegalStateException("Билет недействителен");
-        }
+        session.lock(reservationTicket.getSeatIndex());
+        try {
+            if (!reservationTicket.isActive()) {
+                throw new IllegalStateException("Билет недействителен");
+            }
 
-        if (!reservationTicket.isReservation()) {
-            throw new IllegalStateException("Билет уже продан");
-        }
+            if (!reservationTicket.isReservation()) {
+                throw new IllegalStateException("Билет уже продан");
+            }
 
-        MovieSession session = reservationTicket.getSession();
-        Seat seat = reservationTicket.getSeat();
+            int seatIndex = reservationTicket.getSeatIndex();
 
-        // Создаем новый проданный билет на основе брони
-        String newTicketId = generateTicketId();
-        Ticket soldTicket = new Ticket(newTicketId, session, seat, false);
-        tickets.put(newTicketId, soldTicket);
+            // Создаем новый проданный билет на основе брони
+            Ticket soldTicket = tickets.issue(session, seatIndex, reservationTicket.getPrice(), false);
 
-        // Отменяем бронь, но сохраняем в системе для истории
-        reservationTicket.setActive(false);
+            // Отменяем бронь, но сохраняем в системе для истории
+            reservationTicket.setActive(false);
 
-        // Обновляем статус места
-        session.setSeatStatus(seat, SeatStatus.SOLD);
+            // Обновляем статус места
+            session.setSeatStatus(seatIndex, SeatStatus.SOLD);
 
-        return soldTicket;
+            confirmed = true;
+            return soldTicket;
+        } finally {
+            session.unlock();
+            event.finish(BookingEvent.CONFIRM, session.getSessionId(), reservationTicket.getSeatIndex(), 1, confirmed);
+        }
+    }
+
+    private Ticket requireTicket(String ticketId) {
+        Ticket ticket = getTicket(ticketId);
+        if (ticket == null) {
+            throw new IllegalArgumentException("Билет не найден: " + ticketId);
+        }
+        return ticket;
     }
 
     /**
@@ -186,20 +436,55 @@ public class TicketManagementSystem {
         return tickets.get(ticketId);
     }
 
+    /**
+     * Обходит все выпущенные билеты, включая отмененные, в порядке ID
+     */
+    public void forEachTicket(Consumer<Ticket> action) {
+        tickets.forEach(action);
+    }
+
     /**
      * Получение всех активных билетов
      */
     public List<Ticket> getAllActiveTickets() {
-        return tickets.values().stream()
-                .filter(Ticket::isActive)
-                .toList();
+        return tickets.getActive();
+    }
+
+    /**
+     * Аналитика заполняемости и продаж по всем сеансам
+     */
+    public OccupancyAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    /**
+     * Движок ценообразования
+     */
+    public PricingEngine getPricingEngine() {
+        return pricingEngine;
     }
 
     /**
-     * Генерация уникального ID билета
+     * Листы ожидания сеансов
      */
-    private String generateTicketId() {
-        return "T" + (++ticketCounter);
+    public Waitlist getWaitlist() {
+        return waitlist;
+    }
+
+    /**
+     * Текущая цена места на сеансе (копейки)
+     */
+    public long quotePrice(String sessionId, int row, int seatNumber) {
+        MovieSession session = getSession(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
+        }
+
+        Seat seat = new Seat(row, seatNumber);
+        if (session.isSeatNotValid(seat)) {
+            throw new IllegalArgumentException("Неверное место: " + seat);
+        }
+        return pricingEngine.quote(session, seat);
     }
 
     /**
@@ -213,32 +498,34 @@ public class TicketManagementSystem {
             throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
         }
 
-        Theater theater = session.getTheater();
-        int rows = theater.getRows();
-        int seatsPerRow = theater.getSeatsPerRow();
+        HallLayout layout = session.getTheater().getLayout();
 
-        // Выводим заголовок с номерами мест
+        // Выводим заголовок с номерами позиций в ряду
         System.out.print("       ");
-        for (int seat = 1; seat <= seatsPerRow; seat++) {
-            System.out.printf("%-3d ", seat);
+        for (int position = 1; position <= layout.getWidth(); position++) {
+            System.out.printf("%-3d ", position);
         }
         System.out.println();
 
-        // Выводим каждый ряд
-        for (int row = 1; row <= rows; row++) {
+        // Выводим каждый ряд, проходы остаются пустыми
+        for (int row = 1; row <= layout.getRows(); row++) {
             System.out.printf("%-5d ", row);
 
-            for (int seat = 1; seat <= seatsPerRow; seat++) {
-                Seat currentSeat = new Seat(row, seat);
-                SeatStatus status = session.getSeatStatus(currentSeat);
+            int position = 0;
+            for (int number = 1; number <= layout.getRowLength(row); number++) {
+                int seatIndex = layout.indexOf(row, number);
+                for (; position < layout.positionOf(seatIndex); position++) {
+                    System.out.print("    ");
+                }
 
-                char symbol = switch (status) {
-                    case FREE -> '.';
+                char symbol = switch (session.getSeatStatus(seatIndex)) {
+                    case FREE -> layout.getKind(seatIndex) == SeatKind.WHEELCHAIR ? 'W' : '.';
                     case SOLD -> '█';
                     case RESERVED -> 'R';
                 };
 
                 System.out.printf("%-3c ", symbol);
+                position++;
             }
 
             System.out.println();
@@ -260,19 +547,19 @@ public class TicketManagementSystem {
             throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
         }
 
-        Theater theater = session.getTheater();
-        if (row < 1 || row > theater.getRows()) {
+        HallLayout layout = session.getTheater().getLayout();
+        if (row < 1 || row > layout.getRows()) {
             throw new IllegalArgumentException("Неверный номер ряда: " + row);
         }
 
-        if (fromSeat < 1 || toSeat > theater.getSeatsPerRow() || fromSeat > toSeat) {
+        if (fromSeat < 1 || toSeat > layout.getRowLength(row) || fromSeat > toSeat) {
             throw new IllegalArgumentException(
                     String.format("Неверный диапазон мест: %d-%d", fromSeat, toSeat));
         }
 
         List<Seat> seats = new ArrayList<>();
         for (int seatNum = fromSeat; seatNum <= toSeat; seatNum++) {
-            seats.add(new Seat(row, seatNum));
+            seats.add(layout.seatAt(layout.indexOf(row, seatNum)));
         }
 
         return seats;
@@ -289,6 +576,7 @@ public class TicketManagementSystem {
      * @return список созданных билетов для проданных мест
      */
     public List<Ticket> buyTicketsInRange(String sessionId, int row, int fromSeat, int toSeat) {
+        BookingEvent event = BookingEvent.start();
         MovieSession session = getSession(sessionId);
         if (session == null) {
             throw new IllegalArgumentException(SESSION_NOT_FOUND + sessionId);
@@ -297,20 +585,29 @@ public class TicketManagementSystem {
         List<Seat> seatsInRange = getSeatsInRange(sessionId, row, fromSeat, toSeat);
         List<Ticket> soldTickets = new ArrayList<>();
 
-        for (Seat seat : seatsInRange) {
-            SeatStatus status = session.getSeatStatus(seat);
-            if (status == SeatStatus.FREE) {
-                // Создаем билет для свободного места
-                String ticketId = generateTicketId();
-                Ticket ticket = new Ticket(ticketId, session, seat, false);
-
-                // Помечаем место как проданное
-                session.setSeatStatus(seat, SeatStatus.SOLD);
-                tickets.put(ticketId, ticket);
-
-                // Добавляем билет в результирующий список
-                soldTickets.add(ticket);
+        session.lock(session.getTheater().getLayout().indexOf(row, fromSeat));
+        try {
+            for (Seat seat : seatsInRange) {
+                SeatStatus status = session.getSeatStatus(seat);
+                if (status == SeatStatus.FREE) {
+                    // Создаем билет для свободного места
+                    int seatIndex = session.getTheater().getSeatIndex(seat);
+                    Ticket ticket = tickets.issue(session, seatIndex, pricingEngine.quote(session, seat), false);
+
+                    // Помечаем место как проданное
+                    session.setSeatStatus(seatIndex, SeatStatus.SOLD);
+
+                    // Добавляем билет в результирующий список
+                    soldTickets.add(ticket);
+                } else {
+                    SeatConflictEvent.emit(BookingEvent.BUY_RANGE, sessionId, session.getTheater().getSeatIndex(seat),
+                            row, seat.getNumber(), status.name());
+                }
             }
+        } finally {
+            session.unlock();
+            event.finish(BookingEvent.BUY_RANGE, sessionId, session.getTheater().getLayout().indexOf(row, fromSeat),
+                    soldTickets.size(), !soldTickets.isEmpty());
         }
 
         return soldTickets;
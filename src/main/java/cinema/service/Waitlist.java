@@ -0,0 +1,294 @@
+package cinema.service;
+
+import cinema.model.HallLayout;
+import cinema.model.MovieSession;
+import cinema.model.SeatMapSnapshot;
+import cinema.model.SeatStatus;
+import cinema.model.Ticket;
+import cinema.pricing.PricingEngine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Листы ожидания сеансов с мгновенным перераспределением освободившихся мест.
+ * <p>
+ * Заявки сеанса хранятся в очередях с приоритетом по количеству мест и признаку
+ * "рядом"; внутри очереди первыми идут заявки с более высоким потолком цены,
+ * при равном потолке - более ранние. Когда место освобождается, проверяются
+ * только головы очередей, поэтому подбор не зависит от длины листа ожидания.
+ * Места выделяются под той же блокировкой сеанса, что и отмена билета, а
+ * покупатель уведомляется асинхронно через {@link WaitlistRequest#getResult()}.
+ */
+@Slf4j
+public class Waitlist {
+    public static final int MAX_GROUP_SIZE = 10;   // Максимальное количество мест в одной заявке
+
+    private static final Comparator<WaitlistRequest> PRIORITY =
+            Comparator.comparingLong(WaitlistRequest::getPriceCeiling).reversed()
+                    .thenComparingLong(WaitlistRequest::getSequence);
+
+    private final TicketManagementSystem ticketSystem;        // Система управления билетами
+    private final Executor notifier;                          // Исполнитель уведомлений покупателей
+    private final Map<String, SessionWaitlist> waitlists;     // Листы ожидания (id сеанса -> лист)
+    private final AtomicLong sequence;                        // Счетчик заявок
+
+    public Waitlist(TicketManagementSystem ticketSystem) {
+        this(ticketSystem, ForkJoinPool.commonPool());
+    }
+
+    public Waitlist(TicketManagementSystem ticketSystem, Executor notifier) {
+        if (ticketSystem == null || notifier == null) {
+            throw new IllegalArgumentException("Все параметры должны быть указаны");
+        }
+        this.ticketSystem = ticketSystem;
+        this.notifier = notifier;
+        this.waitlists = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Ставит заявку в лист ожидания. Если подходящие места есть уже сейчас,
+     * они бронируются сразу.
+     *
+     * @param sessionId ID сеанса
+     * @param seatCount количество мест (1..{@value #MAX_GROUP_SIZE})
+     * @param adjacent места должны быть рядом в одном ряду
+     * @param priceCeiling максимальная цена одного места (копейки)
+     * @return заявка
+     */
+    public WaitlistRequest join(String sessionId, int seatCount, boolean adjacent, long priceCeiling) {
+        if (seatCount < 1 || seatCount > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Количество мест должно быть от 1 до " + MAX_GROUP_SIZE);
+        }
+        if (priceCeiling < 0) {
+            throw new IllegalArgumentException("Потолок цены не может быть отрицательным");
+        }
+        MovieSession session = ticketSystem.requireSession(sessionId);
+        WaitlistRequest request = new WaitlistRequest(session.getSessionId(), seatCount, adjacent, priceCeiling,
+                sequence.incrementAndGet());
+
+        session.lock();
+        try {
+            int[] seats = findSeats(session, session.getSnapshot(), request, -1);
+            if (seats != null) {
+                allocate(session, request, seats);
+            } else {
+                waitlistOf(session).queue(seatCount, adjacent).add(request);
+            }
+        } finally {
+            session.unlock();
+        }
+        return request;
+    }
+
+    /**
+     * Количество ожидающих заявок сеанса
+     */
+    public int size(String sessionId) {
+        SessionWaitlist waitlist = waitlists.get(sessionId);
+        if (waitlist == null) {
+            return 0;
+        }
+        MovieSession session = ticketSystem.requireSession(sessionId);
+        session.lock();
+        try {
+            return waitlist.size();
+        } finally {
+            session.unlock();
+        }
+    }
+
+    /**
+     * Пытается отдать освободившееся место заявке из листа ожидания;
+     * вызывающий должен удерживать блокировку сеанса
+     */
+    void onSeatFreed(MovieSession session, int seatIndex) {
+        SessionWaitlist waitlist = waitlists.get(session.getSessionId());
+        if (waitlist == null || waitlist.isEmpty()) {
+            return;
+        }
+
+        // Среди голов очередей выбирается самая приоритетная заявка, которой подходит место;
+        // если ее успели отозвать, место достается следующей подходящей заявке
+        SeatMapSnapshot snapshot = session.getSnapshot();
+        while (true) {
+            WaitlistRequest best = null;
+            int[] bestSeats = null;
+            for (PriorityQueue<WaitlistRequest> queue : waitlist.queues()) {
+                if (queue == null) {
+                    continue;
+                }
+                WaitlistRequest head = pendingHead(queue);
+                if (head == null || (best != null && PRIORITY.compare(head, best) >= 0)) {
+                    continue;
+                }
+                int[] seats = findSeats(session, snapshot, head, seatIndex);
+                if (seats != null) {
+                    best = head;
+                    bestSeats = seats;
+                }
+            }
+
+            if (best == null) {
+                return;
+            }
+            waitlist.queue(best.getSeatCount(), best.isAdjacent()).poll();
+            if (allocate(session, best, bestSeats)) {
+                return;
+            }
+        }
+    }
+
+    private SessionWaitlist waitlistOf(MovieSession session) {
+        return waitlists.computeIfAbsent(session.getSessionId(), key -> new SessionWaitlist());
+    }
+
+    private static WaitlistRequest pendingHead(PriorityQueue<WaitlistRequest> queue) {
+        WaitlistRequest head = queue.peek();
+        while (head != null && !head.isPending()) {
+            queue.poll();  // Отозванные заявки удаляются лениво
+            head = queue.peek();
+        }
+        return head;
+    }
+
+    /**
+     * Выделяет места заявке
+     *
+     * @return false, если заявку успели отозвать
+     */
+    private boolean allocate(MovieSession session, WaitlistRequest request, int[] seats) {
+        if (!request.claim()) {
+            return false;
+        }
+        PricingEngine pricing = ticketSystem.getPricingEngine();
+        long[] prices = new long[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            prices[i] = pricing.quote(session, seats[i]);
+        }
+
+        List<Ticket> tickets = new ArrayList<>(seats.length);
+        for (int i = 0; i < seats.length; i++) {
+            tickets.add(ticketSystem.issueLocked(session, seats[i], prices[i], true));
+        }
+        log.debug("{}: выделено мест {}", request, tickets.size());
+        request.getResult().completeAsync(() -> tickets, notifier);
+        return true;
+    }
+
+    /**
+     * Подбирает места для заявки
+     *
+     * @param required индекс места, которое обязательно должно войти в подбор, или -1
+     * @return индексы мест или null, если подходящих мест нет
+     */
+    private int[] findSeats(MovieSession session, SeatMapSnapshot snapshot, WaitlistRequest request, int required) {
+        PricingEngine pricing = ticketSystem.getPricingEngine();
+        HallLayout layout = session.getTheater().getLayout();
+        int count = request.getSeatCount();
+
+        if (required >= 0) {
+            if (!fits(snapshot, pricing, session, request, required)) {
+                return null;
+            }
+            if (request.isAdjacent()) {
+                // Свободный отрезок ряда вокруг освободившегося места
+                int left = required;
+                int right = required;
+                int next;
+                while (required - left < count - 1
+                        && (next = layout.leftNeighbour(left)) >= 0 && fits(snapshot, pricing, session, request, next)) {
+                    left = next;
+                }
+                while (right - left + 1 < count
+                        && (next = layout.rightNeighbour(right)) >= 0 && fits(snapshot, pricing, session, request, next)) {
+                    right = next;
+                }
+                return right - left + 1 == count ? range(left, count) : null;
+            }
+        }
+
+        // Поиск по всему залу: первые подходящие места или первый подходящий отрезок ряда
+        int[] seats = new int[count];
+        int found = 0;
+        if (required >= 0) {
+            seats[found++] = required;
+        }
+        for (int i = 0; i < layout.getCapacity() && found < count; i++) {
+            if (i == required || !fits(snapshot, pricing, session, request, i)) {
+                found = request.isAdjacent() ? 0 : found;
+                continue;
+            }
+            if (request.isAdjacent() && found > 0 && layout.leftNeighbour(i) != seats[found - 1]) {
+                found = 0;
+            }
+            seats[found++] = i;
+        }
+        return found == count ? seats : null;
+    }
+
+    private static boolean fits(SeatMapSnapshot snapshot, PricingEngine pricing, MovieSession session,
+                                WaitlistRequest request, int seatIndex) {
+        return snapshot.getStatus(seatIndex) == SeatStatus.FREE
+                && pricing.quote(session, seatIndex) <= request.getPriceCeiling();
+    }
+
+    private static int[] range(int start, int count) {
+        int[] seats = new int[count];
+        for (int i = 0; i < count; i++) {
+            seats[i] = start + i;
+        }
+        return seats;
+    }
+
+    /**
+     * Лист ожидания одного сеанса; доступ только под блокировкой сеанса
+     */
+    private static final class SessionWaitlist {
+        // Очереди по количеству мест; отдельно заявки на места рядом и на любые места
+        @SuppressWarnings("unchecked")
+        private final PriorityQueue<WaitlistRequest>[] queues = new PriorityQueue[2 * (MAX_GROUP_SIZE + 1)];
+
+        PriorityQueue<WaitlistRequest> queue(int seatCount, boolean adjacent) {
+            int slot = (adjacent ? MAX_GROUP_SIZE + 1 : 0) + seatCount;
+            if (queues[slot] == null) {
+                queues[slot] = new PriorityQueue<>(PRIORITY);
+            }
+            return queues[slot];
+        }
+
+        PriorityQueue<WaitlistRequest>[] queues() {
+            return queues;
+        }
+
+        boolean isEmpty() {
+            for (PriorityQueue<WaitlistRequest> queue : queues) {
+                if (queue != null && !queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int size() {
+            int size = 0;
+            for (PriorityQueue<WaitlistRequest> queue : queues) {
+                if (queue != null) {
+                    for (WaitlistRequest request : queue) {
+                        size += request.isPending() ? 1 : 0;
+                    }
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package cinema.service;
+
+import cinema.model.Ticket;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Заявка в лист ожидания сеанса. Когда для заявки находятся места, на них
+ * оформляются брони, и {@link #getResult()} завершается списком билетов.
+ */
+@Getter
+public class WaitlistRequest {
+    private final String sessionId;                        // Идентификатор сеанса
+    private final int seatCount;                           // Количество мест
+    private final boolean adjacent;                        // Места должны быть рядом в одном ряду
+    private final long priceCeiling;                       // Максимальная цена одного места (копейки)
+    private final long sequence;                           // Порядковый номер заявки
+    private final CompletableFuture<List<Ticket>> result;  // Оформленные брони
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean claimed;                   // Заявка исполнена или отозвана
+
+    WaitlistRequest(String sessionId, int seatCount, boolean adjacent, long priceCeiling, long sequence) {
+        this.sessionId = sessionId;
+        this.seatCount = seatCount;
+        this.adjacent = adjacent;
+        this.priceCeiling = priceCeiling;
+        this.sequence = sequence;
+        this.result = new CompletableFuture<>();
+        this.claimed = new AtomicBoolean();
+    }
+
+    /**
+     * Отзывает заявку; места по ней больше не выделяются
+     *
+     * @return true, если заявка была отозвана до выделения мест
+     */
+    public boolean cancel() {
+        if (claimed.compareAndSet(false, true)) {
+            result.cancel(false);
+            return true;
+        }
+        return false;
+    }
+
+    boolean isPending() {
+        return !claimed.get();
+    }
+
+    /**
+     * Забирает заявку на исполнение; после этого отозвать ее нельзя
+     */
+    boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    @Override
+    public String toString() {
+        return "Заявка #" + sequence + " на сеанс " + sessionId + ": мест " + seatCount +
+                (adjacent ? " рядом" : "") + ", до " + priceCeiling / 100 + " руб. за место";
+    }
+}
@@ -0,0 +1,49 @@
+package cinema.web;
+
+import cinema.model.Seat;
+import cinema.service.TicketManagementSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API просмотра сеансов и свободных мест
+ */
+@RestController
+@RequestMapping("/api/sessions")
+public class SessionController {
+    private final TicketManagementSystem ticketSystem;  // Система управления билетами
+
+    public SessionController(TicketManagementSystem ticketSystem) {
+        this.ticketSystem = ticketSystem;
+    }
+
+    /**
+     * Список доступных сеансов
+     */
+    @GetMapping
+    public List<SessionView> getSessions() {
+        return ticketSystem.getAvailableSessions().stream()
+                .map(SessionView::of)
+                .toList();
+    }
+
+    /**
+     * Свободные места сеанса
+     */
+    @GetMapping("/{sessionId}/seats")
+    public List<Seat> getAvailableSeats(@PathVariable String sessionId) {
+        return ticketSystem.getAvailableSeats(sessionId);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleNotFound(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package cinema.web;
+
+import cinema.model.MovieSession;
+import cinema.model.SeatStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Краткое описание сеанса для API
+ */
+public record SessionView(String sessionId, String movieTitle, String theater, LocalDateTime dateTime,
+                          int availableSeats) {
+
+    static SessionView of(MovieSession session) {
+        return new SessionView(session.getSessionId(), session.getMovieTitle(), session.getTheater().getName(),
+                session.getDateTime(), session.countSeats(SeatStatus.FREE));
+    }
+}
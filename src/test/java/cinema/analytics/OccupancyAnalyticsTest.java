@@ -0,0 +1,93 @@
+package cinema.analytics;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyAnalyticsTest {
+
+    private TicketManagementSystem ticketSystem;
+    private OccupancyAnalytics analytics;
+    private MovieSession evening;
+    private MovieSession morning;
+
+    @BeforeEach
+    @DisplayName("Создание двух сеансов в разных залах")
+    void setUp() {
+        ticketSystem = new TicketManagementSystem();
+        analytics = ticketSystem.getAnalytics();
+        evening = ticketSystem.createMovieSession("Movie A", new Theater("Hall 1", 2, 5),
+                LocalDateTime.of(2025, 1, 10, 19, 30));
+        morning = ticketSystem.createMovieSession("Movie B", new Theater("Hall 2", 4, 5),
+                LocalDateTime.of(2025, 1, 10, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Агрегаты обновляются при покупке, бронировании и отмене")
+    void testIncrementalAggregates() {
+        ticketSystem.buyTicket(evening.getSessionId(), 1, 1);
+        ticketSystem.buyTicket(evening.getSessionId(), 1, 2);
+        Ticket reserved = ticketSystem.reserveTicket(evening.getSessionId(), 2, 1);
+
+        OccupancyReport movieA = analytics.getOccupancyByMovie().get("Movie A");
+        assertEquals(10, movieA.getCapacity());
+        assertEquals(2, movieA.getSold());
+        assertEquals(1, movieA.getReserved());
+        assertEquals(0.3, movieA.getOccupancy(), 1e-9);
+
+        ticketSystem.confirmReservation(reserved.getTicketId());
+        assertEquals(3, analytics.getOccupancyByTheater().get("Hall 1").getSold());
+        assertEquals(0, analytics.getOccupancyByTheater().get("Hall 1").getReserved());
+
+        ticketSystem.cancelTicket(ticketSystem.getAllActiveTickets().get(0).getTicketId());
+        assertEquals(2, analytics.getSessionOccupancy(evening.getSessionId()).getSold());
+        assertEquals(0, analytics.getOccupancyByMovie().get("Movie B").getSold());
+    }
+
+    @Test
+    @DisplayName("Заполняемость по временным слотам")
+    void testOccupancyByTimeSlot() {
+        ticketSystem.buyTicketsInRange(morning.getSessionId(), 1, 1, 5);
+
+        Map<LocalTime, OccupancyReport> bySlot = analytics.getOccupancyByTimeSlot();
+        assertEquals(5, bySlot.get(LocalTime.of(10, 0)).getSold());
+        assertEquals(0, bySlot.get(LocalTime.of(19, 0)).getSold());
+    }
+
+    @Test
+    @DisplayName("Параллельная произвольная группировка совпадает с материализованными агрегатами")
+    void testParallelAggregate() {
+        ticketSystem.buyTicket(evening.getSessionId(), 1, 1);
+        ticketSystem.buyTicketsInRange(morning.getSessionId(), 2, 1, 3);
+
+        Map<LocalDate, OccupancyReport> byDate = analytics.aggregate(c -> c.getDateTime().toLocalDate());
+        OccupancyReport day = byDate.get(LocalDate.of(2025, 1, 10));
+        assertEquals(2, day.getSessions());
+        assertEquals(30, day.getCapacity());
+        assertEquals(4, day.getSold());
+    }
+
+    @Test
+    @DisplayName("Кривая продаж накапливает проданные места")
+    void testSellThroughCurve() {
+        ticketSystem.buyTicket(evening.getSessionId(), 1, 1);
+        ticketSystem.buyTicket(evening.getSessionId(), 1, 2);
+
+        NavigableMap<LocalDateTime, Long> curve = analytics.getSellThroughCurve(evening.getSessionId());
+        assertFalse(curve.isEmpty());
+        assertEquals(2L, curve.lastEntry().getValue().longValue());
+        assertThrows(IllegalArgumentException.class, () -> analytics.getSellThroughCurve("INVALID_ID"));
+    }
+}
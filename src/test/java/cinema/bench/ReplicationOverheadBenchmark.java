@@ -0,0 +1,145 @@
+package cinema.bench;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.replication.ReplicationPrimary;
+import cinema.replication.ReplicationStandby;
+import cinema.service.TicketManagementSystem;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Задержка покупки билета на ведущем узле: без репликации, с журналом изменений
+ * без резервных узлов и с подключенным резервным узлом.
+ * <p>
+ * Каждый поток покупает все места своего сеанса; измеряется время каждого вызова
+ * {@code buyTicket}. Запуск после {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *      cinema.bench.ReplicationOverheadBenchmark [потоков] [повторов]
+ * </pre>
+ */
+public class ReplicationOverheadBenchmark {
+    private static final int ROWS = 100;
+    private static final int SEATS = 100;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.printf("Потоков: %d, покупок за повтор: %,d, повторов: %d%n", threads, threads * ROWS * SEATS, rounds);
+        System.out.printf("%-26s %10s %10s %10s %14s%n", "Режим", "p50, мкс", "p99, мкс", "p99.9, мкс", "покупок/с");
+        for (Mode mode : Mode.values()) {
+            run(mode, threads);  // Прогрев
+            long[] latencies = new long[0];
+            long elapsed = 0;
+            for (int round = 0; round < rounds; round++) {
+                Result result = run(mode, threads);
+                latencies = concat(latencies, result.latencies);
+                elapsed += result.elapsedNanos;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-26s %10.2f %10.2f %10.2f %,14d%n", mode.title,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies.length * 1_000_000_000L / Math.max(1, elapsed));
+        }
+    }
+
+    private static Result run(Mode mode, int threads) throws Exception {
+        TicketManagementSystem ticketSystem = new TicketManagementSystem();
+        ReplicationPrimary primary = mode == Mode.NONE ? null : new ReplicationPrimary(ticketSystem, 0);
+        ReplicationStandby standby = mode == Mode.STANDBY ? new ReplicationStandby("localhost", primary.getPort()) : null;
+        try {
+            List<MovieSession> sessions = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                sessions.add(ticketSystem.createMovieSession("Benchmark", new Theater("Зал " + t, ROWS, SEATS),
+                        LocalDateTime.now().plusDays(1)));
+            }
+
+            long[][] latencies = new long[threads][ROWS * SEATS];
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String sessionId = sessions.get(t).getSessionId();
+                long[] own = latencies[t];
+                Thread worker = new Thread(() -> {
+                    awaitQuietly(start);
+                    int i = 0;
+                    for (int row = 1; row <= ROWS; row++) {
+                        for (int seat = 1; seat <= SEATS; seat++) {
+                            long begin = System.nanoTime();
+                            ticketSystem.buyTicket(sessionId, row, seat);
+                            own[i++] = System.nanoTime() - begin;
+                        }
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            if (standby != null && !standby.awaitSequence(primary.getLastSequence(), Duration.ofSeconds(30))) {
+                throw new IllegalStateException("Резервный узел не догнал журнал");
+            }
+            long[] all = new long[0];
+            for (long[] own : latencies) {
+                all = concat(all, own);
+            }
+            return new Result(all, elapsed);
+        } finally {
+            if (standby != null) {
+                standby.close();
+            }
+            if (primary != null) {
+                primary.close();
+            }
+        }
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Перцентиль отсортированного массива в микросекундах
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, fraction * sorted.length)] / 1000.0;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private enum Mode {
+        NONE("Без репликации"),
+        LOG_ONLY("Журнал без резервного узла"),
+        STANDBY("Журнал + резервный узел");
+
+        private final String title;
+
+        Mode(String title) {
+            this.title = title;
+        }
+    }
+
+    private record Result(long[] latencies, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,110 @@
+package cinema.bench;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузочный тест чтения схемы мест при смеси 95% чтений / 5% записей.
+ * <p>
+ * Сравнивает оптимистичное версионированное чтение ({@link MovieSession#getAvailableSeats()})
+ * с чтением под блокировкой писателей сеанса. Запуск после {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *      cinema.bench.SeatMapReadBenchmark [потоков] [секунд]
+ * </pre>
+ */
+public class SeatMapReadBenchmark {
+    private static final int READ_PERCENT = 95;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.printf("Смесь чтение/запись %d/%d, потоков: %d, длительность: %d с%n",
+                READ_PERCENT, 100 - READ_PERCENT, threads, seconds);
+        for (boolean lockedReads : new boolean[]{true, false}) {
+            run(threads, seconds, lockedReads);  // Прогрев
+            Result result = run(threads, seconds, lockedReads);
+            System.out.printf("%-28s чтений: %,12d/с  записей: %,10d/с%n",
+                    lockedReads ? "Чтение под блокировкой" : "Оптимистичное чтение",
+                    result.reads / seconds, result.writes / seconds);
+        }
+    }
+
+    private static Result run(int threads, int seconds, boolean lockedReads) throws InterruptedException {
+        TicketManagementSystem ticketSystem = new TicketManagementSystem();
+        MovieSession session = ticketSystem.createMovieSession("Benchmark",
+                new Theater("Большой зал", 30, 40), LocalDateTime.now().plusDays(1));
+        String sessionId = session.getSessionId();
+
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            Thread worker = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                List<Ticket> own = new ArrayList<>();
+                awaitQuietly(start);
+                while (System.nanoTime() < deadline) {
+                    if (random.nextInt(100) < READ_PERCENT) {
+                        if (lockedReads) {
+                            session.lock();
+                            try {
+                                session.getAvailableSeats();
+                            } finally {
+                                session.unlock();
+                            }
+                        } else {
+                            session.getAvailableSeats();
+                        }
+                        reads.increment();
+                    } else {
+                        // Запись: покупка случайного места или возврат ранее купленного билета
+                        if (!own.isEmpty() && random.nextBoolean()) {
+                            ticketSystem.cancelTicket(own.remove(own.size() - 1).getTicketId());
+                        } else {
+                            try {
+                                own.add(ticketSystem.buyTicket(sessionId, random.nextInt(30) + 1, random.nextInt(40) + 1));
+                            } catch (IllegalStateException e) {
+                                // Место занято другим потоком
+                            }
+                        }
+                        writes.increment();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new Result(reads.sum(), writes.sum());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(long reads, long writes) {
+    }
+}
@@ -0,0 +1,156 @@
+package cinema.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Сравнение времени старта и задержки первого запроса в трех режимах запуска:
+ * обычная JVM, JVM с архивом AppCDS и нативный образ GraalVM.
+ * Режимы jvm и cds запускают один и тот же распакованный jar, отличаясь только
+ * флагом {@code -XX:SharedArchiveFile}, поэтому разница между ними - эффект архива.
+ * <p>
+ * Для каждого запуска измеряется время от старта процесса до открытия HTTP-порта,
+ * время первого запроса {@code GET /api/sessions} (холодный путь: инициализация
+ * DispatcherServlet, Jackson) и время второго запроса для сравнения.
+ * Подготовка артефактов и запуск после {@code mvn test-compile}:
+ * <pre>
+ * mvn -Pcds package                 # target/*.jar и target/application/application.jsa
+ * mvn -Pnative native:compile       # target/cinema (требуется GraalVM)
+ * java -cp target/test-classes cinema.bench.StartupBenchmark [запусков] [jvm|cds|native ...]
+ * </pre>
+ * Режимы без собранного артефакта пропускаются. Пути можно переопределить
+ * свойствами {@code -Dcinema.cds.dir} и {@code -Dcinema.native}.
+ */
+public class StartupBenchmark {
+    private static final String JAR_NAME = "case-8-1.0-SNAPSHOT.jar";
+    private static final long READY_TIMEOUT_NANOS = 60_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        List<String> modes = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : List.of("jvm", "cds", "native");
+
+        System.out.printf("Запусков на режим: %d%n", runs);
+        System.out.printf("%-8s %16s %18s %18s%n", "Режим", "Готовность, мс", "1-й запрос, мс", "2-й запрос, мс");
+        for (String mode : modes) {
+            List<String> command = command(mode);
+            if (command == null) {
+                System.out.printf("%-8s артефакт не собран, пропуск%n", mode);
+                continue;
+            }
+            run(command);  // Прогрев файлового кэша
+
+            long[] ready = new long[runs];
+            long[] first = new long[runs];
+            long[] second = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Result result = run(command);
+                ready[i] = result.readyNanos;
+                first[i] = result.firstRequestNanos;
+                second[i] = result.secondRequestNanos;
+            }
+            System.out.printf("%-8s %16s %18s %18s%n", mode, summary(ready), summary(first), summary(second));
+        }
+    }
+
+    /**
+     * Команда запуска режима или null, если артефакт не собран
+     */
+    private static List<String> command(String mode) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path dir = Path.of(System.getProperty("cinema.cds.dir", "target/application"));
+        switch (mode) {
+            case "jvm" -> {
+                Path jar = dir.resolve(JAR_NAME);
+                return Files.exists(jar) ? List.of(java, "-jar", jar.toString()) : null;
+            }
+            case "cds" -> {
+                Path archive = dir.resolve("application.jsa");
+                return Files.exists(archive)
+                        ? List.of(java, "-XX:SharedArchiveFile=" + archive, "-jar", dir.resolve(JAR_NAME).toString())
+                        : null;
+            }
+            case "native" -> {
+                Path image = Path.of(System.getProperty("cinema.native", "target/cinema"));
+                return Files.isExecutable(image) ? List.of(image.toString()) : null;
+            }
+            default -> throw new IllegalArgumentException("Неизвестный режим: " + mode);
+        }
+    }
+
+    private static Result run(List<String> command) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitPort(process, port, start);
+            long ready = System.nanoTime() - start;
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/sessions")).build();
+            long first = timeRequest(client, request);
+            long second = timeRequest(client, request);
+            return new Result(ready, first, second);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitPort(Process process, int port, long start) throws InterruptedException {
+        while (System.nanoTime() - start < READY_TIMEOUT_NANOS) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Процесс завершился с кодом " + process.exitValue());
+            }
+            try (Socket ignored = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                Thread.sleep(1);
+            }
+        }
+        throw new IllegalStateException("Приложение не открыло порт " + port + " за отведенное время");
+    }
+
+    private static long timeRequest(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Неожиданный ответ: " + response.statusCode());
+        }
+        return elapsed;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Медиана и минимум в миллисекундах
+     */
+    private static String summary(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%.1f (мин %.1f)", sorted[sorted.length / 2] / 1e6, sorted[0] / 1e6);
+    }
+
+    private record Result(long readyNanos, long firstRequestNanos, long secondRequestNanos) {
+    }
+}
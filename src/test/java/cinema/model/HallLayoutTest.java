@@ -0,0 +1,79 @@
+package cinema.model;
+
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HallLayoutTest {
+
+    private static final HallLayout LAYOUT = HallLayout.parse(
+            "__sss__",
+            "sss_sss",
+            "ssss_sw",
+            "vvvvvvv"
+    );
+
+    @Test
+    @DisplayName("Ряды разной длины получают непрерывные индексы")
+    void testDenseIndex() {
+        assertEquals(4, LAYOUT.getRows());
+        assertEquals(22, LAYOUT.getCapacity());
+        assertEquals(7, LAYOUT.getWidth());
+        assertEquals(3, LAYOUT.getRowLength(1));
+        assertEquals(6, LAYOUT.getRowLength(2));
+
+        assertEquals(0, LAYOUT.indexOf(1, 1));
+        assertEquals(3, LAYOUT.indexOf(2, 1));
+        assertEquals(21, LAYOUT.indexOf(4, 7));
+        assertEquals(new Seat(3, 6), LAYOUT.seatAt(LAYOUT.indexOf(3, 6)));
+    }
+
+    @Test
+    @DisplayName("Несуществующие места недопустимы")
+    void testInvalidSeats() {
+        assertEquals(-1, LAYOUT.indexOf(1, 4));
+        assertEquals(-1, LAYOUT.indexOf(0, 1));
+        assertEquals(-1, LAYOUT.indexOf(5, 1));
+        assertEquals(-1, LAYOUT.indexOf(2, 7));
+    }
+
+    @Test
+    @DisplayName("Проход разрывает соседство мест")
+    void testNeighbours() {
+        int third = LAYOUT.indexOf(2, 3);
+        int fourth = LAYOUT.indexOf(2, 4);
+        assertEquals(LAYOUT.indexOf(2, 2), LAYOUT.leftNeighbour(third));
+        assertEquals(-1, LAYOUT.rightNeighbour(third));
+        assertEquals(-1, LAYOUT.leftNeighbour(fourth));
+        assertEquals(-1, LAYOUT.leftNeighbour(LAYOUT.indexOf(2, 1)));
+        assertEquals(-1, LAYOUT.rightNeighbour(LAYOUT.indexOf(1, 3)));
+    }
+
+    @Test
+    @DisplayName("Тип и категория мест из схемы")
+    void testKindsAndCategories() {
+        assertEquals(SeatKind.WHEELCHAIR, LAYOUT.getKind(LAYOUT.indexOf(3, 6)));
+        assertEquals(SeatKind.REGULAR, LAYOUT.getKind(LAYOUT.indexOf(3, 5)));
+        assertEquals(SeatCategory.VIP, LAYOUT.getCategory(LAYOUT.indexOf(4, 1)));
+        assertThrows(IllegalArgumentException.class, () -> HallLayout.parse("ssx"));
+    }
+
+    @Test
+    @DisplayName("Продажа в зале произвольной формы, схема общая для сеансов")
+    void testSessionsShareLayout() {
+        TicketManagementSystem ticketSystem = new TicketManagementSystem();
+        Theater theater = new Theater("Multiplex 1", LAYOUT);
+        MovieSession first = ticketSystem.createMovieSession("Movie", theater, LocalDateTime.now().plusDays(1));
+        MovieSession second = ticketSystem.createMovieSession("Movie", theater, LocalDateTime.now().plusDays(2));
+
+        ticketSystem.buyTicket(first.getSessionId(), 2, 6);
+        assertThrows(IllegalArgumentException.class, () -> ticketSystem.buyTicket(first.getSessionId(), 1, 4));
+        assertEquals(21, first.getAvailableSeats().size());
+        assertEquals(22, second.getAvailableSeats().size());
+        assertSame(first.getTheater().getLayout(), second.getTheater().getLayout());
+    }
+}
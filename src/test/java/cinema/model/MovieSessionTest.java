@@ -0,0 +1,91 @@
+package cinema.model;
+
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieSessionTest {
+
+    private MovieSession session;
+
+    @BeforeEach
+    @DisplayName("Создание сеанса")
+    void setUp() {
+        session = new MovieSession("S1", "Movie", new Theater("Hall", 10, 20), LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Версия увеличивается при каждом изменении статуса")
+    void testVersionGrowsOnWrite() {
+        long initial = session.getVersion();
+        session.setSeatStatus(new Seat(1, 1), SeatStatus.SOLD);
+        session.setSeatStatus(new Seat(1, 2), SeatStatus.RESERVED);
+
+        SeatMapSnapshot snapshot = session.getSnapshot();
+        assertEquals(initial + 2, snapshot.getVersion());
+        assertEquals(SeatStatus.SOLD, snapshot.getStatus(0));
+        assertEquals(1, snapshot.count(SeatStatus.RESERVED));
+        assertEquals(198, session.getAvailableSeats().size());
+    }
+
+    @Test
+    @DisplayName("Снимок не меняется после последующих записей")
+    void testSnapshotIsIsolated() {
+        SeatMapSnapshot before = session.getSnapshot();
+        session.setSeatStatus(new Seat(2, 2), SeatStatus.SOLD);
+
+        assertEquals(SeatStatus.FREE, before.getStatus(session.getTheater().getSeatIndex(new Seat(2, 2))));
+        assertEquals(1, session.getSoldSeats().size());
+    }
+
+    @Test
+    @DisplayName("Чтение снимков параллельно с покупками и отменами")
+    void testConcurrentReadsAndWrites() throws InterruptedException {
+        // Писатель покупает места по возрастанию индекса, затем отменяет в том же порядке:
+        // в любой момент проданные места образуют один непрерывный отрезок, и снимок,
+        // склеенный из разных моментов, дает лишнюю смену статуса
+        TicketManagementSystem system = new TicketManagementSystem();
+        MovieSession shared = system.createMovieSession("Movie", new Theater("Hall", 10, 20), LocalDateTime.now().plusDays(1));
+        int seats = shared.getTheater().getCapacity();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            while (running.get()) {
+                List<Ticket> tickets = new ArrayList<>();
+                for (int row = 1; row <= 10; row++) {
+                    tickets.addAll(system.buyTicketsInRange(shared.getSessionId(), row, 1, 20));
+                }
+                for (Ticket ticket : tickets) {
+                    system.cancelTicket(ticket.getTicketId());
+                }
+            }
+        });
+        writer.start();
+
+        try {
+            long lastVersion = 0;
+            for (int i = 0; i < 10_000; i++) {
+                SeatMapSnapshot snapshot = shared.getSnapshot();
+                int transitions = 0;
+                for (int seat = 1; seat < seats; seat++) {
+                    if (snapshot.getStatus(seat) != snapshot.getStatus(seat - 1)) {
+                        transitions++;
+                    }
+                }
+                assertTrue(transitions <= 1, "Снимок не содержит части разных состояний");
+                assertTrue(snapshot.getVersion() >= lastVersion, "Версия снимков не убывает");
+                lastVersion = snapshot.getVersion();
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package cinema.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStoreTest {
+
+    private MovieSession session;
+    private TicketStore store;
+
+    @BeforeEach
+    @DisplayName("Создание хранилища с одним сеансом")
+    void setUp() {
+        session = new MovieSession(0, "S1", "Movie", new Theater("Hall", 100, 100), LocalDateTime.now().plusDays(1));
+        Clock clock = Clock.fixed(Instant.parse("2025-01-10T12:00:00Z"), ZoneOffset.UTC);
+        store = new TicketStore(1001, index -> session, clock);
+    }
+
+    @Test
+    @DisplayName("Билет читает данные из колонок хранилища")
+    void testTicketView() {
+        Ticket ticket = store.issue(session, 101, 350_00, true);
+
+        assertEquals("T1001", ticket.getTicketId());
+        assertEquals(session, ticket.getSession());
+        assertEquals(new Seat(2, 2), ticket.getSeat());
+        assertEquals(LocalDateTime.of(2025, 1, 10, 12, 0), ticket.getIssueTime());
+        assertEquals(350_00, ticket.getPrice());
+        assertTrue(ticket.isReservation());
+        assertTrue(ticket.isActive());
+
+        Ticket sameTicket = store.get("T1001");
+        sameTicket.setActive(false);
+        assertFalse(ticket.isActive(), "Изменения видны во всех представлениях");
+        assertTrue(ticket.isReservation());
+        assertEquals(ticket, sameTicket);
+    }
+
+    @Test
+    @DisplayName("Рост хранилища за пределы одного блока")
+    void testGrowth() {
+        for (int i = 0; i < 10_000; i++) {
+            store.issue(session, i, i, false);
+        }
+
+        assertEquals(10_000, store.size());
+        Ticket last = store.get("T11000");
+        assertEquals(9_999, last.getSeatIndex());
+        assertEquals(9_999, last.getPrice());
+        assertEquals(10_000, store.getActive().size());
+    }
+
+    @Test
+    @DisplayName("Параллельный выпуск билетов без потерь и повторов ID")
+    void testConcurrentIssue() throws Exception {
+        List<Ticket> notified = Collections.synchronizedList(new ArrayList<>());
+        store.setListener(new TicketListener() {
+            @Override
+            public void onTicketIssued(Ticket ticket) {
+                notified.add(ticket);
+            }
+
+            @Override
+            public void onTicketActiveChanged(Ticket ticket) {
+            }
+        });
+
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seatIndex = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        Ticket ticket = store.issue(session, seatIndex, i, false);
+                        assertEquals(seatIndex, store.get(ticket.getTicketId()).getSeatIndex());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, store.size());
+        assertEquals(threads * perThread, store.getActive().size());
+        assertEquals(threads * perThread, new HashSet<>(notified).size());
+    }
+
+    @Test
+    @DisplayName("Восстановление билетов не по порядку ID")
+    void testRestoreOutOfOrder() {
+        store.restore(1003, 0, 3, 0, 300, true, false);
+        assertNull(store.get("T1001"), "Пропущенная строка не видна до восстановления");
+        assertEquals(1, store.getActive().size());
+
+        store.restore(1001, 0, 1, 0, 100, false, true);
+        store.restore(1002, 0, 2, 0, 200, true, false);
+        assertFalse(store.get("T1001").isActive());
+        assertTrue(store.get("T1001").isReservation());
+        assertEquals(200, store.get("T1002").getPrice());
+        assertThrows(IllegalStateException.class, () -> store.restore(1002, 0, 2, 0, 200, true, false));
+
+        assertEquals("T1004", store.issue(session, 4, 400, false).getTicketId());
+    }
+
+    @Test
+    @DisplayName("Поиск по несуществующему ID")
+    void testUnknownIds() {
+        store.issue(session, 0, 0, false);
+
+        assertNull(store.get("T1002"));
+        assertNull(store.get("T1000"));
+        assertNull(store.get("NON_EXISTENT"));
+        assertNull(store.get("T"));
+        assertNull(store.get(null));
+        assertNull(store.get("T99999999999999999999"));
+        assertNull(store.get("T01001"), "ID сравнивается как строка, ведущие нули не допускаются");
+        assertNull(store.get("T001001"));
+        assertNotNull(store.get("T1001"));
+    }
+
+    @Test
+    @DisplayName("Сеанс без порядкового номера не принимается")
+    void testUnregisteredSession() {
+        MovieSession unregistered = new MovieSession("S2", "Movie", session.getTheater(), LocalDateTime.now());
+        assertThrows(IllegalArgumentException.class, () -> store.issue(unregistered, 0, 0, false));
+    }
+}
@@ -0,0 +1,108 @@
+package cinema.monitoring;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.BatchBookingService;
+import cinema.service.BookingCommand;
+import cinema.service.TicketManagementSystem;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionAnalyzerTest {
+
+    @Test
+    @DisplayName("События бронирования из записи JFR сводятся в тепловые карты по сеансам")
+    void testRecordingAnalyzedPerSession() throws Exception {
+        TicketManagementSystem ticketSystem = new TicketManagementSystem();
+        Theater hall = new Theater("Hall", 3, 4);
+        MovieSession hot = ticketSystem.createMovieSession("Movie", hall, LocalDateTime.of(2025, 1, 10, 14, 0));
+        MovieSession quiet = ticketSystem.createMovieSession("Movie", hall, LocalDateTime.of(2025, 1, 10, 18, 0));
+
+        Path file = Files.createTempFile("cinema", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("cinema.Booking", "cinema.SeatConflict", "cinema.SessionLockWait",
+                    "cinema.BatchCommit")) {
+                recording.enable(event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            Ticket reserved = ticketSystem.reserveTicket(hot.getSessionId(), 2, 3);
+            for (int attempt = 0; attempt < 3; attempt++) {
+                assertThrows(IllegalStateException.class, () -> ticketSystem.buyTicket(hot.getSessionId(), 2, 3));
+            }
+            ticketSystem.buyTicket(hot.getSessionId(), 1, 1);
+            ticketSystem.buyTicketsInRange(hot.getSessionId(), 1, 1, 4);
+            ticketSystem.confirmReservation(reserved.getTicketId());
+            ticketSystem.buyTicket(quiet.getSessionId(), 3, 4);
+
+            // Конкурентный захват блокировки сеанса: блокировка освобождается,
+            // только когда покупатель запущен и припаркован в ожидании сеанса
+            hot.lock();
+            CountDownLatch started = new CountDownLatch(1);
+            Thread buyer = new Thread(() -> {
+                started.countDown();
+                ticketSystem.buyTicket(hot.getSessionId(), 3, 1);
+            });
+            try {
+                buyer.start();
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (buyer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertEquals(Thread.State.WAITING, buyer.getState(), "Покупатель ждет блокировку сеанса");
+            } finally {
+                hot.unlock();
+            }
+            buyer.join();
+
+            BatchBookingService batch = new BatchBookingService(ticketSystem, Runnable::run);
+            batch.submitAll(List.of(BookingCommand.buy(quiet.getSessionId(), 1, 1),
+                    BookingCommand.buy(quiet.getSessionId(), 3, 4)));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        try {
+            ContentionAnalyzer analyzer = ContentionAnalyzer.analyze(file);
+            SessionContention hotContention = analyzer.getSession(hot.getSessionId());
+            assertEquals(8, hotContention.getBookings());
+            assertEquals(3, hotContention.getFailedBookings());
+            assertEquals(3, hotContention.getConflicts(2, 3));
+            assertEquals(1, hotContention.getConflicts(1, 1));
+            assertEquals(4, hotContention.getConflicts());
+            assertTrue(hotContention.getLockWaits() >= 1);
+            assertTrue(hotContention.getLockWaitNanos() > 0);
+            int blockedSeat = hall.getSeatIndex(new Seat(3, 1));
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("cinema.SessionLockWait"))
+                    .anyMatch(event -> event.getInt("seatIndex") == blockedSeat), "Ожидание записано с индексом места");
+
+            SessionContention quietContention = analyzer.getSession(quiet.getSessionId());
+            assertEquals(1, quietContention.getBatches());
+            assertEquals(2.0, quietContention.getAverageBatchSize());
+            assertEquals(1, quietContention.getConflicts(3, 4));
+
+            String report = analyzer.render();
+            assertTrue(report.contains("Сеанс " + hot.getSessionId()));
+            assertTrue(report.contains("█"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cinema.pricing;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatCategory;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingEngineTest {
+
+    private TicketManagementSystem ticketSystem;
+    private MovieSession session;
+
+    @BeforeEach
+    @DisplayName("Создание вечернего сеанса в зале с VIP-рядом")
+    void setUp() {
+        ticketSystem = new TicketManagementSystem();
+        Theater theater = new Theater("Hall", 2, 5, Map.of(2, SeatCategory.VIP));
+        session = ticketSystem.createMovieSession("Movie", theater, LocalDateTime.of(2025, 1, 10, 19, 0));
+    }
+
+    @Test
+    @DisplayName("Цена зависит от категории места и времени сеанса")
+    void testPriceByCategoryAndTime() {
+        // Вечерний коэффициент 120%
+        assertEquals(420_00L, ticketSystem.quotePrice(session.getSessionId(), 1, 1));
+        assertEquals(840_00L, ticketSystem.quotePrice(session.getSessionId(), 2, 1));
+        assertEquals(SeatCategory.VIP, session.getTheater().getSeatCategory(new Seat(2, 3)));
+
+        MovieSession morning = ticketSystem.createMovieSession("Movie", session.getTheater(),
+                LocalDateTime.of(2025, 1, 11, 10, 0));
+        assertEquals(280_00L, ticketSystem.quotePrice(morning.getSessionId(), 1, 1));
+    }
+
+    @Test
+    @DisplayName("Таблица цен пересчитывается при переходе порога заполняемости")
+    void testPriceGrowsWithOccupancy() {
+        ticketSystem.buyTicketsInRange(session.getSessionId(), 1, 1, 4);
+        SessionPriceTable table = ticketSystem.getPricingEngine().getPriceTable(session.getSessionId());
+        assertEquals(0, table.getTier());
+
+        Ticket fifth = ticketSystem.buyTicket(session.getSessionId(), 1, 5);
+        assertEquals(420_00L, fifth.getPrice(), "Цена фиксируется до изменения заполняемости");
+        assertEquals(1, table.getTier());
+        assertEquals(462_00L, ticketSystem.quotePrice(session.getSessionId(), 2, 1) / 2);
+
+        ticketSystem.cancelTicket(fifth.getTicketId());
+        assertEquals(0, table.getTier());
+        assertEquals(420_00L, ticketSystem.quotePrice(session.getSessionId(), 1, 5));
+    }
+
+    @Test
+    @DisplayName("Подтвержденная бронь сохраняет цену брони")
+    void testConfirmedReservationKeepsPrice() {
+        Ticket reserved = ticketSystem.reserveTicket(session.getSessionId(), 2, 2);
+        ticketSystem.buyTicketsInRange(session.getSessionId(), 1, 1, 5);
+
+        Ticket confirmed = ticketSystem.confirmReservation(reserved.getTicketId());
+        assertEquals(reserved.getPrice(), confirmed.getPrice());
+    }
+
+    @Test
+    @DisplayName("Неверные правила ценообразования")
+    void testInvalidPolicy() {
+        Map<SeatCategory, Long> prices = Map.of(SeatCategory.STANDARD, 100L);
+        TreeMap<LocalTime, Integer> factors = new TreeMap<>(Map.of(LocalTime.MIDNIGHT, 100));
+        assertThrows(IllegalArgumentException.class, () ->
+                new PricingPolicy(prices, factors, new int[]{0}, new int[]{0}));
+    }
+}
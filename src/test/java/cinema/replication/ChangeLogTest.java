@@ -0,0 +1,98 @@
+package cinema.replication;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @Test
+    @DisplayName("Неподтвержденные записи хранятся, подтвержденные удаляются сегментами")
+    void testTruncationFollowsAcknowledgements() {
+        ChangeLog changeLog = new ChangeLog(0);
+        ChangeLog.Cursor cursor = changeLog.attach(1);
+        append(changeLog, 3 * SEGMENT_SIZE);
+        assertEquals(1, changeLog.getFirstSequence(), "Узел еще ничего не подтвердил");
+
+        cursor.acknowledge(SEGMENT_SIZE + 10);
+        assertEquals(SEGMENT_SIZE + 1, changeLog.getFirstSequence());
+        assertThrows(IllegalStateException.class, () -> changeLog.read(SEGMENT_SIZE, new byte[1][], new long[1]));
+
+        byte[][] records = new byte[2][];
+        assertEquals(2, changeLog.read(SEGMENT_SIZE + 1, records, new long[2]));
+        assertEquals(SEGMENT_SIZE + 1, sequenceOf(records[0]));
+        assertEquals(SEGMENT_SIZE + 2, sequenceOf(records[1]));
+
+        cursor.detach();
+        append(changeLog, SEGMENT_SIZE);
+        assertEquals(3 * SEGMENT_SIZE + 1, changeLog.getFirstSequence());
+        assertNull(changeLog.attach(1), "Удаленные записи недоступны новому узлу");
+        assertNotNull(changeLog.attach(3 * SEGMENT_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Последние записи хранятся и без резервных узлов")
+    void testRetainedTail() {
+        ChangeLog changeLog = new ChangeLog(SEGMENT_SIZE);
+        append(changeLog, 5 * SEGMENT_SIZE + 1);
+        assertEquals(4 * SEGMENT_SIZE + 1, changeLog.getFirstSequence());
+        assertEquals(5 * SEGMENT_SIZE + 1, changeLog.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Читатель получает все записи параллельных писателей по порядку номеров")
+    void testConcurrentAppends() throws InterruptedException {
+        int writers = 4;
+        int perWriter = 3 * SEGMENT_SIZE;
+        ChangeLog changeLog = new ChangeLog(0);
+        ChangeLog.Cursor cursor = changeLog.attach(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    changeLog.append(new byte[]{(byte) i});
+                }
+            });
+            threads.add(writer);
+            writer.start();
+        }
+
+        byte[][] records = new byte[1024][];
+        long[] millis = new long[1024];
+        long next = 1;
+        long total = (long) writers * perWriter;
+        while (next <= total) {
+            assertTrue(changeLog.awaitSequence(next, 10_000), "Запись " + next + " не опубликована");
+            int count = changeLog.read(next, records, millis);
+            assertTrue(count > 0, "Опубликованная запись должна читаться");
+            for (int i = 0; i < count; i++) {
+                assertNotNull(records[i]);
+                assertTrue(millis[i] > 0);
+            }
+            next += count;
+            cursor.acknowledge(next - 1);
+        }
+        for (Thread writer : threads) {
+            writer.join();
+        }
+        assertEquals(total, changeLog.getLastSequence());
+        assertFalse(changeLog.awaitSequence(total + 1, 10), "Новых записей нет");
+    }
+
+    private static void append(ChangeLog changeLog, int count) {
+        for (int i = 0; i < count; i++) {
+            long sequence = changeLog.getLastSequence() + 1;
+            assertEquals(sequence, changeLog.append(new byte[]{(byte) (sequence >>> 16), (byte) (sequence >>> 8), (byte) sequence}));
+        }
+    }
+
+    private static long sequenceOf(byte[] record) {
+        return ((record[0] & 0xFF) << 16) | ((record[1] & 0xFF) << 8) | (record[2] & 0xFF);
+    }
+}
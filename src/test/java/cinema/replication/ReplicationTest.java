@@ -0,0 +1,277 @@
+package cinema.replication;
+
+import cinema.model.HallLayout;
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatStatus;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private TicketManagementSystem primarySystem;
+    private ReplicationPrimary primary;
+    private ReplicationStandby standby;
+
+    @BeforeEach
+    @DisplayName("Запуск ведущего и резервного узлов на локальном адресе")
+    void setUp() throws Exception {
+        primarySystem = new TicketManagementSystem();
+        primary = new ReplicationPrimary(primarySystem, 0);
+        standby = new ReplicationStandby("localhost", primary.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        standby.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("Резервный узел воспроизводит сеансы, места и билеты ведущего узла")
+    void testStandbyMirrorsPrimary() throws Exception {
+        Theater hall = new Theater("Hall", HallLayout.parse("ss_ss", "cccc", "_vv_w"));
+        MovieSession morning = primarySystem.createMovieSession("Movie", hall, LocalDateTime.of(2025, 1, 10, 10, 0));
+        MovieSession evening = primarySystem.createMovieSession("Movie", hall, LocalDateTime.of(2025, 1, 10, 19, 0));
+
+        Ticket sold = primarySystem.buyTicket(morning.getSessionId(), 1, 1);
+        Ticket reserved = primarySystem.reserveTicket(morning.getSessionId(), 2, 2);
+        Ticket confirmed = primarySystem.reserveTicket(evening.getSessionId(), 3, 1);
+        primarySystem.buyTicketsInRange(evening.getSessionId(), 2, 1, 4);
+        primarySystem.confirmReservation(confirmed.getTicketId());
+        primarySystem.cancelTicket(sold.getTicketId());
+
+        assertTrue(standby.awaitSequence(primary.getLastSequence(), TIMEOUT));
+        assertEquals(0, standby.getLagRecords());
+        assertEquals(0, standby.getLagMillis());
+
+        TicketManagementSystem replica = standby.getSystem();
+        assertSameState(primarySystem, replica);
+        assertFalse(replica.getTicket(sold.getTicketId()).isActive());
+        assertTrue(replica.getTicket(reserved.getTicketId()).isReservation());
+        assertEquals(hall.getLayout().getKind(hall.getSeatIndex(new Seat(3, 3))),
+                replica.getSession(0).getTheater().getLayout().getKind(hall.getSeatIndex(new Seat(3, 3))));
+    }
+
+    @Test
+    @DisplayName("После переключения резервный узел продолжает продажи с теми же ID")
+    void testPromoteContinuesSequences() throws Exception {
+        MovieSession session = primarySystem.createMovieSession("Movie", new Theater("Hall", 10, 10),
+                LocalDateTime.of(2025, 1, 10, 14, 0));
+
+        // Параллельные продажи и отмены на ведущем узле
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int row = t + 1;
+                futures.add(executor.submit(() -> {
+                    List<Ticket> tickets = primarySystem.buyTicketsInRange(session.getSessionId(), row, 1, 10);
+                    for (int i = 0; i < tickets.size(); i += 2) {
+                        primarySystem.cancelTicket(tickets.get(i).getTicketId());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(standby.awaitSequence(primary.getLastSequence(), TIMEOUT));
+        TicketManagementSystem promoted = standby.promote();
+        assertSameState(primarySystem, promoted);
+
+        Ticket next = promoted.buyTicket(session.getSessionId(), 5, 1);
+        assertEquals("T" + (1001 + 40), next.getTicketId());
+        MovieSession created = promoted.createMovieSession("Movie 2", promoted.getSession(0).getTheater(),
+                LocalDateTime.of(2025, 1, 10, 18, 0));
+        assertEquals("S2", created.getSessionId());
+        assertThrows(IllegalStateException.class, () -> promoted.createMovieSession("Movie 3",
+                promoted.getSession(0).getTheater(), LocalDateTime.of(2025, 1, 10, 15, 0)));
+    }
+
+    @Test
+    @DisplayName("Одноименные залы реплицируются как разные залы")
+    void testSameNameTheaters() throws Exception {
+        Theater small = new Theater("Hall", 2, 3);
+        Theater large = new Theater("Hall", 5, 10);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 14, 0);
+        MovieSession first = primarySystem.createMovieSession("Movie", small, start);
+        MovieSession second = primarySystem.createMovieSession("Movie", large, start);
+        MovieSession third = primarySystem.createMovieSession("Movie", small, start.plusHours(4));
+        primarySystem.buyTicket(second.getSessionId(), 5, 10);
+        primarySystem.buyTicket(first.getSessionId(), 2, 3);
+
+        assertTrue(standby.awaitSequence(primary.getLastSequence(), TIMEOUT));
+        assertFalse(standby.isFailed());
+        TicketManagementSystem replica = standby.getSystem();
+        assertSameState(primarySystem, replica);
+        assertEquals(50, replica.getSession(1).getTheater().getCapacity());
+        assertNotSame(replica.getSession(0).getTheater(), replica.getSession(1).getTheater());
+        assertSame(replica.getSession(0).getTheater(), replica.getSession(third.getIndex()).getTheater());
+    }
+
+    @Test
+    @DisplayName("После ошибки применения журнала переключение на реплику запрещено")
+    void testPromoteRefusedAfterApplyFailure() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            ReplicationStandby broken = new ReplicationStandby("localhost", server.getLocalPort());
+            try (Socket socket = server.accept();
+                 DataInputStream in = new DataInputStream(socket.getInputStream());
+                 DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                assertEquals(1, in.readLong());
+                // Изменение места в сеансе, о создании которого реплика не знает
+                byte[] record = ChangeRecords.seat(5, 0, SeatStatus.SOLD);
+                out.writeByte(ReplicationPrimary.FRAME_BATCH);
+                out.writeLong(1);
+                out.writeInt(1);
+                out.writeLong(1);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(record.length);
+                out.write(record);
+                out.flush();
+
+                long deadline = System.nanoTime() + TIMEOUT.toNanos();
+                while (!broken.isFailed() && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            }
+            assertTrue(broken.isFailed());
+            assertEquals(0, broken.getAppliedSequence());
+            assertThrows(IllegalStateException.class, broken::promote);
+        }
+    }
+
+    @Test
+    @DisplayName("Резервный узел подключается к системе с данными через снимок состояния")
+    void testStandbyJoinsNonEmptySystem() throws Exception {
+        TicketManagementSystem system = new TicketManagementSystem();
+        Theater hall = new Theater("Hall", 5, 5);
+        MovieSession session = system.createMovieSession("Movie", hall, LocalDateTime.of(2025, 1, 10, 14, 0));
+        Ticket cancelled = system.buyTicket(session.getSessionId(), 1, 1);
+        Ticket reserved = system.reserveTicket(session.getSessionId(), 2, 2);
+        system.buyTicketsInRange(session.getSessionId(), 3, 1, 5);
+        system.cancelTicket(cancelled.getTicketId());
+
+        try (ReplicationPrimary existing = new ReplicationPrimary(system, 0);
+             ReplicationStandby follower = new ReplicationStandby("localhost", existing.getPort())) {
+            assertTrue(follower.awaitSequence(existing.getLastSequence(), TIMEOUT));
+
+            // Изменения после подключения журнала, в том числе в сеансе, созданном до него
+            system.confirmReservation(reserved.getTicketId());
+            system.buyTicket(session.getSessionId(), 4, 4);
+            MovieSession later = system.createMovieSession("Movie 2", hall, LocalDateTime.of(2025, 1, 10, 18, 0));
+            system.buyTicket(later.getSessionId(), 1, 1);
+
+            assertTrue(follower.awaitSequence(existing.getLastSequence(), TIMEOUT));
+            TicketManagementSystem promoted = follower.promote();
+            assertSameState(system, promoted);
+            assertFalse(promoted.getTicket(cancelled.getTicketId()).isActive());
+            assertSame(promoted.getSession(0).getTheater(), promoted.getSession(1).getTheater());
+            assertEquals(system.buyTicket(later.getSessionId(), 1, 2).getTicketId(),
+                    promoted.buyTicket(later.getSessionId(), 1, 2).getTicketId());
+        }
+    }
+
+    @Test
+    @DisplayName("Журнал удаляет подтвержденные записи, отставший узел догоняет по снимку")
+    void testLogTruncatedAndStandbyCatchesUpFromSnapshot() throws Exception {
+        TicketManagementSystem system = new TicketManagementSystem();
+        MovieSession session = system.createMovieSession("Movie", new Theater("Hall", 100, 100),
+                LocalDateTime.of(2025, 1, 10, 14, 0));
+        try (ReplicationPrimary truncating = new ReplicationPrimary(system, 0, 0)) {
+            // Каждая продажа пишет две записи: место и билет
+            for (int row = 1; row <= 50; row++) {
+                system.buyTicketsInRange(session.getSessionId(), row, 1, 100);
+            }
+            assertTrue(truncating.getFirstRetainedSequence() > 1, "Без резервных узлов журнал хранит только хвост");
+
+            try (ReplicationStandby follower = new ReplicationStandby("localhost", truncating.getPort())) {
+                assertTrue(follower.awaitSequence(truncating.getLastSequence(), TIMEOUT));
+                for (int row = 51; row <= 100; row++) {
+                    system.buyTicketsInRange(session.getSessionId(), row, 1, 100);
+                }
+                long last = truncating.getLastSequence();
+                assertTrue(follower.awaitSequence(last, TIMEOUT));
+
+                // Подтверждение доходит до ведущего узла с очередным кадром
+                long deadline = System.nanoTime() + TIMEOUT.toNanos();
+                while (truncating.getFirstRetainedSequence() <= last - 4096 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertTrue(truncating.getFirstRetainedSequence() > last - 4096, "Подтвержденные записи удаляются");
+                assertSameState(system, follower.promote());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("После закрытия ведущего узла изменения системы не пишутся в журнал")
+    void testCloseDetachesChangeLog() throws Exception {
+        TicketManagementSystem system = new TicketManagementSystem();
+        MovieSession session = system.createMovieSession("Movie", new Theater("Hall", 5, 5),
+                LocalDateTime.of(2025, 1, 10, 14, 0));
+        ReplicationPrimary closing = new ReplicationPrimary(system, 0);
+        system.buyTicket(session.getSessionId(), 1, 1);
+        long last = closing.getLastSequence();
+        assertTrue(last > 0);
+
+        closing.close();
+        system.buyTicket(session.getSessionId(), 1, 2);
+        system.createMovieSession("Movie", new Theater("Hall", 5, 5), LocalDateTime.of(2025, 1, 10, 18, 0));
+        assertEquals(last, closing.getLastSequence(), "Закрытый узел не должен удерживать изменения");
+    }
+
+    private static void assertSameState(TicketManagementSystem expected, TicketManagementSystem actual) {
+        assertEquals(expected.getSessionCount(), actual.getSessionCount());
+        for (int i = 0; i < expected.getSessionCount(); i++) {
+            MovieSession expectedSession = expected.getSession(i);
+            MovieSession actualSession = actual.getSession(i);
+            assertEquals(expectedSession.getSessionId(), actualSession.getSessionId());
+            assertEquals(expectedSession.getMovieTitle(), actualSession.getMovieTitle());
+            assertEquals(expectedSession.getDateTime(), actualSession.getDateTime());
+            assertEquals(expectedSession.getSeatStatusMap(), actualSession.getSeatStatusMap());
+            assertEquals(expectedSession.countSeats(SeatStatus.SOLD),
+                    actual.getAnalytics().getSessionOccupancy(actualSession.getSessionId()).getSold());
+        }
+
+        List<Ticket> expectedTickets = expected.getAllActiveTickets();
+        List<Ticket> actualTickets = actual.getAllActiveTickets();
+        assertEquals(expectedTickets.size(), actualTickets.size());
+        for (int i = 0; i < expectedTickets.size(); i++) {
+            Ticket expectedTicket = expectedTickets.get(i);
+            Ticket actualTicket = actualTickets.get(i);
+            assertEquals(expectedTicket.getTicketId(), actualTicket.getTicketId());
+            assertEquals(expectedTicket.getSeat(), actualTicket.getSeat());
+            assertEquals(expectedTicket.getPrice(), actualTicket.getPrice());
+            assertEquals(expectedTicket.isReservation(), actualTicket.isReservation());
+            assertEquals(expectedTicket.getIssueEpochMillis(), actualTicket.getIssueEpochMillis());
+        }
+    }
+}
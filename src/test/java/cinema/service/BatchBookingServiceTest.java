@@ -0,0 +1,173 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchBookingServiceTest {
+
+    private TicketManagementSystem ticketSystem;
+    private BatchBookingService batchService;
+    private ExecutorService executor;
+    private MovieSession first;
+    private MovieSession second;
+
+    @BeforeEach
+    @DisplayName("Создание системы, двух сеансов и сервиса пакетного бронирования")
+    void setUp() {
+        ticketSystem = new TicketManagementSystem();
+        executor = Executors.newFixedThreadPool(4);
+        batchService = new BatchBookingService(ticketSystem, executor);
+        first = ticketSystem.createMovieSession("Movie A", new Theater("Hall 1", 5, 5), LocalDateTime.now().plusDays(1));
+        second = ticketSystem.createMovieSession("Movie B", new Theater("Hall 2", 5, 5), LocalDateTime.now().plusDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Пакет команд по нескольким сеансам")
+    void testSubmitAll() throws Exception {
+        List<CompletableFuture<Ticket>> results = batchService.submitAll(List.of(
+                BookingCommand.buy(first.getSessionId(), 1, 1),
+                BookingCommand.reserve(second.getSessionId(), 2, 2),
+                BookingCommand.buy(first.getSessionId(), 1, 2)
+        ));
+
+        Ticket sold = results.get(0).get(5, TimeUnit.SECONDS);
+        Ticket reserved = results.get(1).get(5, TimeUnit.SECONDS);
+        assertFalse(sold.isReservation());
+        assertTrue(reserved.isReservation());
+        assertEquals(second, reserved.getSession());
+        assertNotNull(results.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals(23, first.getAvailableSeats().size());
+        assertEquals(24, second.getAvailableSeats().size());
+    }
+
+    @Test
+    @DisplayName("Ошибки отдельных команд не влияют на остальные команды пакета")
+    void testPerCommandErrors() throws Exception {
+        List<CompletableFuture<Ticket>> results = batchService.submitAll(List.of(
+                BookingCommand.buy(first.getSessionId(), 1, 1),
+                BookingCommand.buy(first.getSessionId(), 1, 1),
+                BookingCommand.buy(first.getSessionId(), 10, 10),
+                BookingCommand.buy("INVALID_ID", 1, 1)
+        ));
+
+        assertNotNull(results.get(0).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure(results.get(1)));
+        assertInstanceOf(IllegalArgumentException.class, failure(results.get(2)));
+        assertEquals("Сеанс не найден: INVALID_ID", failure(results.get(3)).getMessage());
+    }
+
+    @Test
+    @DisplayName("Команды для неизвестных сеансов отклоняются сразу, без постановки в очередь")
+    void testUnknownSessionRejectedImmediately() {
+        List<Runnable> tasks = new ArrayList<>();
+        BatchBookingService deferred = new BatchBookingService(ticketSystem, tasks::add);
+
+        CompletableFuture<Ticket> unknown = deferred.submit(BookingCommand.buy("INVALID_ID", 1, 1));
+        List<CompletableFuture<Ticket>> results = deferred.submitAll(List.of(
+                BookingCommand.buy(null, 1, 1),
+                BookingCommand.buy("S999", 1, 1)));
+
+        assertTrue(unknown.isCompletedExceptionally());
+        assertTrue(results.get(0).isCompletedExceptionally());
+        assertEquals("Сеанс не найден: S999", failure(results.get(1)).getMessage());
+        assertTrue(tasks.isEmpty(), "Для неизвестных сеансов задачи не планируются");
+    }
+
+    @Test
+    @DisplayName("Конвейерная обработка потока команд без двойных продаж")
+    void testPublisherPipelining() throws Exception {
+        List<BookingCommand> commands = new ArrayList<>();
+        CompletableFuture<Void> completion;
+        try (SubmissionPublisher<BookingCommand> publisher = new SubmissionPublisher<>()) {
+            completion = batchService.subscribe(publisher);
+            // Каждое место запрашивается дважды, продать его можно только один раз
+            for (int attempt = 0; attempt < 2; attempt++) {
+                for (int row = 1; row <= 5; row++) {
+                    for (int seat = 1; seat <= 5; seat++) {
+                        BookingCommand command = BookingCommand.buy(first.getSessionId(), row, seat);
+                        commands.add(command);
+                        publisher.submit(command);
+                    }
+                }
+            }
+        }
+        completion.get(5, TimeUnit.SECONDS);
+
+        long sold = commands.stream().filter(c -> !c.getResult().isCompletedExceptionally()).count();
+        assertEquals(25, sold);
+        assertTrue(first.getAvailableSeats().isEmpty());
+        assertEquals(25, ticketSystem.getAllActiveTickets().size());
+    }
+
+    @Test
+    @DisplayName("Отказ исполнителя завершает команды ошибкой и не блокирует очередь сеанса")
+    void testRejectedExecution() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        boolean[] rejecting = {true};
+        BatchBookingService rejected = new BatchBookingService(ticketSystem, task -> {
+            if (rejecting[0]) {
+                throw new RejectedExecutionException("Исполнитель остановлен");
+            }
+            tasks.add(task);
+        });
+
+        CompletableFuture<Ticket> lost = rejected.submit(BookingCommand.buy(first.getSessionId(), 1, 1));
+        assertInstanceOf(RejectedExecutionException.class, failure(lost));
+
+        rejecting[0] = false;
+        CompletableFuture<Ticket> accepted = rejected.submit(BookingCommand.buy(first.getSessionId(), 1, 1));
+        assertEquals(1, tasks.size(), "Очередь сеанса снова планируется после отказа");
+        tasks.get(0).run();
+        assertNotNull(accepted.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Ошибка, прервавшая пакет, завершает все его команды")
+    void testErrorCompletesWholeBatch() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        BatchBookingService deferred = new BatchBookingService(ticketSystem, tasks::add);
+        first.addSeatStatusListener((session, seat, oldStatus, newStatus) -> {
+            if (seat.getNumber() == 2) {
+                throw new Error("Сбой слушателя");
+            }
+        });
+        List<CompletableFuture<Ticket>> results = deferred.submitAll(List.of(
+                BookingCommand.buy(first.getSessionId(), 1, 1),
+                BookingCommand.buy(first.getSessionId(), 1, 2),
+                BookingCommand.buy(first.getSessionId(), 1, 3)));
+
+        assertEquals(1, tasks.size());
+        assertThrows(Error.class, () -> tasks.get(0).run());
+        assertNotNull(results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("Сбой слушателя", failure(results.get(1)).getMessage());
+        assertEquals("Сбой слушателя", failure(results.get(2)).getMessage());
+    }
+
+    private static Throwable failure(CompletableFuture<Ticket> result) {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        return exception.getCause();
+    }
+}
@@ -0,0 +1,102 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.Theater;
+import cinema.model.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TheaterScheduleTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 10);
+
+    private TicketManagementSystem ticketSystem;
+    private Theater theater;
+
+    @BeforeEach
+    @DisplayName("Создание системы и зала")
+    void setUp() {
+        ticketSystem = new TicketManagementSystem();
+        theater = new Theater("Hall", 5, 5);
+    }
+
+    @Test
+    @DisplayName("Пересекающийся сеанс в том же зале отклоняется")
+    void testOverlapRejected() {
+        ticketSystem.createMovieSession("Movie A", theater, DAY.atTime(18, 0), Duration.ofMinutes(120));
+
+        assertThrows(IllegalStateException.class, () ->
+                ticketSystem.createMovieSession("Movie B", theater, DAY.atTime(19, 30), Duration.ofMinutes(90)));
+        assertThrows(IllegalStateException.class, () ->
+                ticketSystem.createMovieSession("Movie B", theater, DAY.atTime(17, 0), Duration.ofMinutes(61)));
+        assertThrows(IllegalStateException.class, () ->
+                ticketSystem.createMovieSession("Movie B", theater, DAY.atTime(17, 0), Duration.ofHours(5)));
+
+        // Сеансы вплотную и в другом зале допустимы
+        assertDoesNotThrow(() -> ticketSystem.createMovieSession("Movie B", theater, DAY.atTime(20, 0)));
+        assertDoesNotThrow(() -> ticketSystem.createMovieSession("Movie C", theater, DAY.atTime(16, 0)));
+        assertDoesNotThrow(() -> ticketSystem.createMovieSession("Movie D", new Theater("Hall", 5, 5), DAY.atTime(18, 0)));
+        assertEquals(4, ticketSystem.getAvailableSessions().size());
+    }
+
+    @Test
+    @DisplayName("Свободные интервалы зала за день")
+    void testFreeSlots() {
+        ticketSystem.createMovieSession("Night", theater, DAY.minusDays(1).atTime(23, 0), Duration.ofHours(2));
+        ticketSystem.createMovieSession("Movie A", theater, DAY.atTime(10, 0), Duration.ofMinutes(100));
+        ticketSystem.createMovieSession("Movie B", theater, DAY.atTime(12, 0), Duration.ofHours(2));
+
+        List<TimeSlot> free = ticketSystem.getFreeSlots(theater, DAY);
+        assertEquals(List.of(
+                new TimeSlot(DAY.atTime(1, 0), DAY.atTime(10, 0)),
+                new TimeSlot(DAY.atTime(11, 40), DAY.atTime(12, 0)),
+                new TimeSlot(DAY.atTime(14, 0), DAY.plusDays(1).atStartOfDay())
+        ), free);
+
+        Theater empty = new Theater("Empty", 1, 1);
+        assertEquals(Duration.ofDays(1), ticketSystem.getFreeSlots(empty, DAY).get(0).getDuration());
+    }
+
+    @Test
+    @DisplayName("Параллельное создание сеансов не допускает пересечений")
+    void testConcurrentCreate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MovieSession>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                LocalDateTime start = DAY.atTime(10, 0).plusMinutes(30L * (i % 16));
+                results.add(executor.submit(() -> ticketSystem.createMovieSession("Movie", theater, start)));
+            }
+
+            List<MovieSession> created = new ArrayList<>();
+            for (Future<MovieSession> result : results) {
+                try {
+                    created.add(result.get());
+                } catch (Exception e) {
+                    assertInstanceOf(IllegalStateException.class, e.getCause());
+                }
+            }
+
+            created.sort((a, b) -> a.getDateTime().compareTo(b.getDateTime()));
+            for (int i = 1; i < created.size(); i++) {
+                assertFalse(created.get(i).getDateTime().isBefore(created.get(i - 1).getEndTime()),
+                        "Сеансы не должны пересекаться");
+            }
+            assertEquals(created, ticketSystem.getSchedule(theater).getSessions(DAY));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cinema.service;
+
+import cinema.model.MovieSession;
+import cinema.model.Seat;
+import cinema.model.SeatStatus;
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private TicketManagementSystem ticketSystem;
+    private Waitlist waitlist;
+    private MovieSession session;
+    private List<Ticket> sold;
+
+    @BeforeEach
+    @DisplayName("Создание полностью проданного сеанса")
+    void setUp() {
+        ticketSystem = new TicketManagementSystem();
+        waitlist = ticketSystem.getWaitlist();
+        session = ticketSystem.createMovieSession("Movie", new Theater("Hall", 2, 4),
+                LocalDateTime.of(2025, 1, 10, 14, 0));
+        sold = new ArrayList<>(ticketSystem.buyTicketsInRange(session.getSessionId(), 1, 1, 4));
+        sold.addAll(ticketSystem.buyTicketsInRange(session.getSessionId(), 2, 1, 4));
+    }
+
+    @Test
+    @DisplayName("Освободившееся место сразу бронируется для заявки из листа ожидания")
+    void testSeatReallocatedOnCancel() throws Exception {
+        WaitlistRequest request = waitlist.join(session.getSessionId(), 1, false, NO_LIMIT);
+        assertFalse(request.getResult().isDone());
+        assertEquals(1, waitlist.size(session.getSessionId()));
+
+        ticketSystem.cancelTicket(sold.get(2).getTicketId());
+
+        List<Ticket> tickets = request.getResult().get(5, TimeUnit.SECONDS);
+        assertEquals(1, tickets.size());
+        assertTrue(tickets.get(0).isReservation());
+        assertEquals(new Seat(1, 3), tickets.get(0).getSeat());
+        assertEquals(SeatStatus.RESERVED, session.getSeatStatus(new Seat(1, 3)));
+        assertTrue(session.getAvailableSeats().isEmpty());
+        assertEquals(0, waitlist.size(session.getSessionId()));
+    }
+
+    @Test
+    @DisplayName("Приоритет по потолку цены, затем по времени заявки")
+    void testPriority() throws Exception {
+        WaitlistRequest early = waitlist.join(session.getSessionId(), 1, false, 500_00);
+        WaitlistRequest rich = waitlist.join(session.getSessionId(), 1, false, 1000_00);
+        WaitlistRequest late = waitlist.join(session.getSessionId(), 1, false, 500_00);
+        WaitlistRequest cheap = waitlist.join(session.getSessionId(), 1, false, 100_00);
+
+        ticketSystem.cancelTicket(sold.get(0).getTicketId());
+        ticketSystem.cancelTicket(sold.get(1).getTicketId());
+
+        assertNotNull(rich.getResult().get(5, TimeUnit.SECONDS));
+        assertNotNull(early.getResult().get(5, TimeUnit.SECONDS));
+        assertFalse(late.getResult().isDone());
+
+        // Место дороже потолка цены не выделяется
+        ticketSystem.cancelTicket(sold.get(2).getTicketId());
+        assertNotNull(late.getResult().get(5, TimeUnit.SECONDS));
+        ticketSystem.cancelTicket(sold.get(3).getTicketId());
+        assertFalse(cheap.getResult().isDone());
+        assertEquals(SeatStatus.FREE, session.getSeatStatus(new Seat(1, 4)));
+    }
+
+    @Test
+    @DisplayName("Заявка на места рядом исполняется, когда освобождается соседнее место")
+    void testAdjacentRequest() throws Exception {
+        WaitlistRequest pair = waitlist.join(session.getSessionId(), 2, true, NO_LIMIT);
+
+        ticketSystem.cancelTicket(sold.get(0).getTicketId());   // 1-1
+        ticketSystem.cancelTicket(sold.get(5).getTicketId());   // 2-2
+        assertFalse(pair.getResult().isDone(), "Места не рядом");
+
+        ticketSystem.cancelTicket(sold.get(6).getTicketId());   // 2-3
+        List<Ticket> tickets = pair.getResult().get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(new Seat(2, 2), new Seat(2, 3)), tickets.stream().map(Ticket::getSeat).toList());
+        assertEquals(SeatStatus.FREE, session.getSeatStatus(new Seat(1, 1)));
+    }
+
+    @Test
+    @DisplayName("Заявка исполняется сразу, если места есть, и может быть отозвана")
+    void testImmediateAllocationAndCancel() throws Exception {
+        ticketSystem.cancelTicket(sold.get(0).getTicketId());
+        WaitlistRequest immediate = waitlist.join(session.getSessionId(), 1, false, NO_LIMIT);
+        assertEquals(new Seat(1, 1), immediate.getResult().get(5, TimeUnit.SECONDS).get(0).getSeat());
+
+        WaitlistRequest withdrawn = waitlist.join(session.getSessionId(), 1, false, NO_LIMIT);
+        assertTrue(withdrawn.cancel());
+        ticketSystem.cancelTicket(sold.get(1).getTicketId());
+        assertTrue(withdrawn.getResult().isCancelled());
+        assertEquals(SeatStatus.FREE, session.getSeatStatus(new Seat(1, 2)));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                waitlist.join(session.getSessionId(), Waitlist.MAX_GROUP_SIZE + 1, false, NO_LIMIT));
+    }
+}
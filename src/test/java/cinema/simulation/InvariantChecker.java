@@ -0,0 +1,82 @@
+package cinema.simulation;
+
+import cinema.analytics.OccupancyReport;
+import cinema.model.MovieSession;
+import cinema.model.SeatStatus;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Проверка инвариантов системы бронирования после прогона нагрузки:
+ * <ul>
+ *     <li>на место выдано не более одного действительного билета (нет двойной продажи);</li>
+ *     <li>статус места согласован с билетами: FREE - нет билета, SOLD - проданный билет,
+ *     RESERVED - действительная бронь;</li>
+ *     <li>счетчики аналитики совпадают со статусами мест;</li>
+ *     <li>количество действительных билетов совпадает с ожидаемым по итогам прогона.</li>
+ * </ul>
+ */
+public final class InvariantChecker {
+
+    private InvariantChecker() {
+    }
+
+    /**
+     * @param expectedActiveTickets ожидаемое количество действительных билетов или -1, если не проверяется
+     * @return описания нарушений (пустой список, если нарушений нет)
+     */
+    public static List<String> check(TicketManagementSystem ticketSystem, long expectedActiveTickets) {
+        List<String> violations = new ArrayList<>();
+        int sessions = ticketSystem.getSessionCount();
+        Ticket[][] ticketBySeat = new Ticket[sessions][];
+        for (int i = 0; i < sessions; i++) {
+            ticketBySeat[i] = new Ticket[ticketSystem.getSession(i).getTheater().getCapacity()];
+        }
+
+        List<Ticket> active = ticketSystem.getAllActiveTickets();
+        for (Ticket ticket : active) {
+            Ticket[] seats = ticketBySeat[ticket.getSession().getIndex()];
+            Ticket previous = seats[ticket.getSeatIndex()];
+            if (previous != null) {
+                violations.add(String.format("Сеанс %s, %s: действительны билеты %s и %s",
+                        ticket.getSession().getSessionId(), ticket.getSeat(), previous.getTicketId(), ticket.getTicketId()));
+            }
+            seats[ticket.getSeatIndex()] = ticket;
+        }
+
+        for (int i = 0; i < sessions; i++) {
+            MovieSession session = ticketSystem.getSession(i);
+            for (int seatIndex = 0; seatIndex < ticketBySeat[i].length; seatIndex++) {
+                SeatStatus status = session.getSeatStatus(seatIndex);
+                SeatStatus expected = statusOf(ticketBySeat[i][seatIndex]);
+                if (status != expected) {
+                    violations.add(String.format("Сеанс %s, %s: статус %s, по билетам ожидается %s",
+                            session.getSessionId(), session.getTheater().getLayout().seatAt(seatIndex), status, expected));
+                }
+            }
+
+            OccupancyReport report = ticketSystem.getAnalytics().getSessionOccupancy(session.getSessionId());
+            if (report.getSold() != session.countSeats(SeatStatus.SOLD)
+                    || report.getReserved() != session.countSeats(SeatStatus.RESERVED)) {
+                violations.add(String.format("Сеанс %s: аналитика %d/%d, места %d/%d (продано/забронировано)",
+                        session.getSessionId(), report.getSold(), report.getReserved(),
+                        session.countSeats(SeatStatus.SOLD), session.countSeats(SeatStatus.RESERVED)));
+            }
+        }
+
+        if (expectedActiveTickets >= 0 && active.size() != expectedActiveTickets) {
+            violations.add(String.format("Действительных билетов %d, ожидалось %d", active.size(), expectedActiveTickets));
+        }
+        return violations;
+    }
+
+    private static SeatStatus statusOf(Ticket ticket) {
+        if (ticket == null) {
+            return SeatStatus.FREE;
+        }
+        return ticket.isReservation() ? SeatStatus.RESERVED : SeatStatus.SOLD;
+    }
+}
@@ -0,0 +1,14 @@
+package cinema.simulation;
+
+/**
+ * Типы операций нагрузки
+ */
+public enum OperationType {
+    BROWSE,              // Просмотр свободных мест
+    BUY,                 // Покупка одного места
+    RESERVE,             // Бронирование одного места
+    GROUP_BUY,           // Групповая покупка соседних мест (buyTicketsInRange)
+    CONFIRM,             // Подтверждение своей брони
+    CANCEL_RESERVATION,  // Отмена своей брони
+    REFUND               // Возврат купленного билета
+}
@@ -0,0 +1,111 @@
+package cinema.simulation;
+
+import java.util.List;
+
+/**
+ * Итоги прогона нагрузки: исходы и задержки по типам операций, пропускная способность
+ * и нарушения инвариантов
+ */
+public class SimulationReport {
+    private static final OperationType[] TYPES = OperationType.values();
+
+    /**
+     * Исход операции
+     */
+    public enum Outcome {
+        SUCCESS,   // Операция выполнена
+        REJECTED,  // Отказ системы (место занято)
+        SKIPPED,   // У покупателя нет подходящего билета
+        ERROR      // Неожиданное исключение
+    }
+
+    private final int actors;                      // Количество покупателей
+    private final long elapsedNanos;               // Длительность прогона
+    private final long[][] outcomes;               // Исходы [тип операции][исход]
+    private final LatencyHistogram[] latencies;    // Задержки по типам операций
+    private final LatencyHistogram overall;        // Задержки всех операций
+    private final List<String> errors;             // Примеры неожиданных ошибок
+    private final List<String> violations;         // Нарушения инвариантов
+
+    SimulationReport(int actors, long elapsedNanos, long[][] outcomes, LatencyHistogram[] latencies,
+                     List<String> errors, List<String> violations) {
+        this.actors = actors;
+        this.elapsedNanos = elapsedNanos;
+        this.outcomes = outcomes;
+        this.latencies = latencies;
+        this.overall = new LatencyHistogram();
+        for (LatencyHistogram latency : latencies) {
+            overall.add(latency);
+        }
+        this.errors = List.copyOf(errors);
+        this.violations = List.copyOf(violations);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getOperations() {
+        return overall.getCount();
+    }
+
+    /**
+     * Операций в секунду
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getOperations() * 1e9 / elapsedNanos;
+    }
+
+    public long getCount(OperationType type, Outcome outcome) {
+        return outcomes[type.ordinal()][outcome.ordinal()];
+    }
+
+    public long getCount(Outcome outcome) {
+        long total = 0;
+        for (long[] byType : outcomes) {
+            total += byType[outcome.ordinal()];
+        }
+        return total;
+    }
+
+    public LatencyHistogram getLatency(OperationType type) {
+        return latencies[type.ordinal()];
+    }
+
+    public LatencyHistogram getLatency() {
+        return overall;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Текстовый отчет
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Покупателей: %d, операций: %,d, время: %.3f с, пропускная способность: %,.0f оп/с%n",
+                actors, getOperations(), elapsedNanos / 1e9, getThroughput()));
+        out.append(String.format("%-20s %9s %9s %9s %7s  %s%n", "Операция", "успех", "отказ", "пропуск", "ошибка", "задержка"));
+        for (OperationType type : TYPES) {
+            long[] byType = outcomes[type.ordinal()];
+            out.append(String.format("%-20s %9d %9d %9d %7d  %s%n", type, byType[0], byType[1], byType[2], byType[3],
+                    latencies[type.ordinal()]));
+        }
+        out.append(String.format("%-20s %9d %9d %9d %7d  %s%n", "ИТОГО", getCount(Outcome.SUCCESS),
+                getCount(Outcome.REJECTED), getCount(Outcome.SKIPPED), getCount(Outcome.ERROR), overall));
+        errors.forEach(error -> out.append("Ошибка: ").append(error).append(System.lineSeparator()));
+        if (violations.isEmpty()) {
+            out.append("Инварианты: нарушений нет").append(System.lineSeparator());
+        } else {
+            out.append(String.format("Инварианты: нарушений %d%n", violations.size()));
+            violations.forEach(violation -> out.append("  ").append(violation).append(System.lineSeparator()));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package cinema.simulation;
+
+/**
+ * Операция трассы нагрузки.
+ * <p>
+ * Операции над своими билетами (подтверждение, отмена, возврат) не ссылаются
+ * на конкретный билет: при воспроизведении берется билет покупателя с номером
+ * {@code pick} по модулю количества подходящих билетов.
+ *
+ * @param offsetNanos плановое время операции от начала прогона
+ * @param type тип операции
+ * @param session номер сеанса (от 0)
+ * @param row ряд
+ * @param seat место (для групповой покупки - первое место)
+ * @param count количество мест для групповой покупки
+ * @param pick выбор своего билета
+ */
+public record TraceOperation(long offsetNanos, OperationType type, int session, int row, int seat, int count,
+                             int pick) {
+
+    String format() {
+        return offsetNanos + " " + type + " " + session + " " + row + " " + seat + " " + count + " " + pick;
+    }
+
+    static TraceOperation parse(String[] fields, int from) {
+        return new TraceOperation(Long.parseLong(fields[from]), OperationType.valueOf(fields[from + 1]),
+                Integer.parseInt(fields[from + 2]), Integer.parseInt(fields[from + 3]),
+                Integer.parseInt(fields[from + 4]), Integer.parseInt(fields[from + 5]),
+                Integer.parseInt(fields[from + 6]));
+    }
+}
@@ -0,0 +1,211 @@
+package cinema.simulation;
+
+import cinema.model.Theater;
+import cinema.model.Ticket;
+import cinema.service.TicketManagementSystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Воспроизведение трассы нагрузки на {@link TicketManagementSystem}: по потоку на покупателя.
+ * <p>
+ * Если в трассе заданы плановые времена операций (открытая модель нагрузки), поток
+ * ждет планового времени, а задержка считается от него - так отставание от графика
+ * входит в задержку и не маскируется (coordinated omission). Без плановых времен
+ * покупатели выполняют операции подряд, и задержка - это время выполнения операции.
+ * <p>
+ * Покупатель работает только со своими билетами, поэтому после прогона количество
+ * действительных билетов должно совпасть с количеством билетов на руках у покупателей.
+ */
+public class TraceReplayer {
+    private static final LocalDateTime FIRST_SESSION = LocalDateTime.of(2025, 1, 10, 10, 0);
+    private static final int SESSION_INTERVAL_HOURS = 3;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    /**
+     * Воспроизводит трассу на новой системе бронирования
+     */
+    public SimulationReport replay(WorkloadTrace trace) throws InterruptedException {
+        return replay(trace, new TicketManagementSystem());
+    }
+
+    /**
+     * Воспроизводит трассу на переданной (пустой) системе; сеансы трассы создаются в ней
+     */
+    public SimulationReport replay(WorkloadTrace trace, TicketManagementSystem ticketSystem) throws InterruptedException {
+        Theater theater = new Theater("Зал", trace.rows(), trace.seatsPerRow());
+        String[] sessionIds = new String[trace.sessions()];
+        for (int i = 0; i < sessionIds.length; i++) {
+            sessionIds[i] = ticketSystem.createMovieSession("Премьера", theater,
+                    FIRST_SESSION.plusHours((long) i * SESSION_INTERVAL_HOURS)).getSessionId();
+        }
+
+        boolean paced = trace.actors().stream().flatMap(List::stream).anyMatch(operation -> operation.offsetNanos() > 0);
+        CountDownLatch ready = new CountDownLatch(trace.actors().size());
+        CountDownLatch start = new CountDownLatch(1);
+        long[] startNanos = new long[1];
+        List<Actor> actors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < trace.actors().size(); i++) {
+            Actor actor = new Actor(ticketSystem, sessionIds, trace.seatsPerRow(), trace.actors().get(i), paced);
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                awaitQuietly(start);
+                actor.run(startNanos[0]);
+            }, "simulation-actor-" + i);
+            actors.add(actor);
+            threads.add(thread);
+            thread.start();
+        }
+
+        ready.await();
+        startNanos[0] = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - startNanos[0];
+
+        long[][] outcomes = new long[OperationType.values().length][SimulationReport.Outcome.values().length];
+        LatencyHistogram[] latencies = new LatencyHistogram[OperationType.values().length];
+        for (int type = 0; type < latencies.length; type++) {
+            latencies[type] = new LatencyHistogram();
+        }
+        List<String> errors = new ArrayList<>();
+        long heldTickets = 0;
+        for (Actor actor : actors) {
+            for (int type = 0; type < latencies.length; type++) {
+                latencies[type].add(actor.latencies[type]);
+                for (int outcome = 0; outcome < outcomes[type].length; outcome++) {
+                    outcomes[type][outcome] += actor.outcomes[type][outcome];
+                }
+            }
+            actor.errors.stream().limit(MAX_REPORTED_ERRORS - errors.size()).forEach(errors::add);
+            heldTickets += actor.reservations.size() + actor.purchases.size();
+        }
+
+        List<String> violations = InvariantChecker.check(ticketSystem, heldTickets);
+        return new SimulationReport(actors.size(), elapsed, outcomes, latencies, errors, violations);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Покупатель: выполняет свои операции и хранит свои билеты
+     */
+    private static final class Actor {
+        private final TicketManagementSystem ticketSystem;
+        private final String[] sessionIds;
+        private final int seatsPerRow;
+        private final List<TraceOperation> operations;
+        private final boolean paced;
+        private final long[][] outcomes = new long[OperationType.values().length][SimulationReport.Outcome.values().length];
+        private final LatencyHistogram[] latencies = new LatencyHistogram[OperationType.values().length];
+        private final List<Ticket> reservations = new ArrayList<>();
+        private final List<Ticket> purchases = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private Actor(TicketManagementSystem ticketSystem, String[] sessionIds, int seatsPerRow,
+                      List<TraceOperation> operations, boolean paced) {
+            this.ticketSystem = ticketSystem;
+            this.sessionIds = sessionIds;
+            this.seatsPerRow = seatsPerRow;
+            this.operations = operations;
+            this.paced = paced;
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LatencyHistogram();
+            }
+        }
+
+        private void run(long startNanos) {
+            for (TraceOperation operation : operations) {
+                long intended = startNanos + operation.offsetNanos();
+                if (paced) {
+                    long delay;
+                    while ((delay = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                }
+
+                long begin = System.nanoTime();
+                SimulationReport.Outcome outcome;
+                try {
+                    outcome = execute(operation);
+                } catch (IllegalStateException e) {
+                    outcome = SimulationReport.Outcome.REJECTED;
+                } catch (RuntimeException e) {
+                    outcome = SimulationReport.Outcome.ERROR;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(operation.format() + ": " + e);
+                    }
+                }
+                long end = System.nanoTime();
+
+                latencies[operation.type().ordinal()].record(end - (paced ? intended : begin));
+                outcomes[operation.type().ordinal()][outcome.ordinal()]++;
+            }
+        }
+
+        private SimulationReport.Outcome execute(TraceOperation operation) {
+            String sessionId = sessionIds[operation.session()];
+            switch (operation.type()) {
+                case BROWSE -> ticketSystem.getAvailableSeats(sessionId);
+                case BUY -> purchases.add(ticketSystem.buyTicket(sessionId, operation.row(), operation.seat()));
+                case RESERVE -> reservations.add(ticketSystem.reserveTicket(sessionId, operation.row(), operation.seat()));
+                case GROUP_BUY -> {
+                    int toSeat = Math.min(operation.seat() + operation.count() - 1, seatsPerRow);
+                    List<Ticket> tickets = ticketSystem.buyTicketsInRange(sessionId, operation.row(), operation.seat(), toSeat);
+                    purchases.addAll(tickets);
+                    if (tickets.isEmpty()) {
+                        return SimulationReport.Outcome.REJECTED;
+                    }
+                }
+                case CONFIRM -> {
+                    if (reservations.isEmpty()) {
+                        return SimulationReport.Outcome.SKIPPED;
+                    }
+                    int pick = operation.pick() % reservations.size();
+                    purchases.add(ticketSystem.confirmReservation(reservations.get(pick).getTicketId()));
+                    removeAt(reservations, pick);
+                }
+                case CANCEL_RESERVATION -> {
+                    return release(reservations, operation.pick());
+                }
+                case REFUND -> {
+                    return release(purchases, operation.pick());
+                }
+            }
+            return SimulationReport.Outcome.SUCCESS;
+        }
+
+        private SimulationReport.Outcome release(List<Ticket> tickets, int pick) {
+            if (tickets.isEmpty()) {
+                return SimulationReport.Outcome.SKIPPED;
+            }
+            int index = pick % tickets.size();
+            ticketSystem.cancelTicket(tickets.get(index).getTicketId());
+            removeAt(tickets, index);
+            return SimulationReport.Outcome.SUCCESS;
+        }
+
+        /**
+         * Удаление за O(1): на место удаляемого билета переносится последний
+         */
+        private static void removeAt(List<Ticket> tickets, int index) {
+            Ticket last = tickets.remove(tickets.size() - 1);
+            if (index < tickets.size()) {
+                tickets.set(index, last);
+            }
+        }
+    }
+}
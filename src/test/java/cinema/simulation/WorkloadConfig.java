@@ -0,0 +1,66 @@
+package cinema.simulation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Параметры генерации нагрузки
+ *
+ * @param seed зерно генератора; одинаковое зерно дает одинаковую трассу
+ * @param actors количество покупателей (потоков воспроизведения)
+ * @param operationsPerActor операций на покупателя
+ * @param sessions количество сеансов
+ * @param rows рядов в зале
+ * @param seatsPerRow мест в ряду
+ * @param arrivalRate суммарная интенсивность операций в секунду; 0 - без пауз (замкнутый цикл)
+ * @param maxGroupSize максимальный размер группы для групповой покупки
+ * @param mix веса типов операций
+ */
+public record WorkloadConfig(long seed, int actors, int operationsPerActor, int sessions, int rows, int seatsPerRow,
+                             double arrivalRate, int maxGroupSize, Map<OperationType, Integer> mix) {
+
+    public WorkloadConfig {
+        if (actors <= 0 || operationsPerActor < 0 || sessions <= 0 || rows <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Размеры нагрузки должны быть положительными");
+        }
+        if (arrivalRate < 0 || maxGroupSize <= 0) {
+            throw new IllegalArgumentException("Неверная интенсивность или размер группы");
+        }
+        if (mix == null || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0
+                || mix.values().stream().anyMatch(weight -> weight < 0)) {
+            throw new IllegalArgumentException("Веса операций должны быть неотрицательными и не все нулевыми");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    /**
+     * Старт продаж на премьеру: много просмотров и покупок, группы до 6 человек,
+     * часть броней подтверждается или отменяется, небольшая доля возвратов
+     */
+    public static WorkloadConfig onSaleNight(long seed) {
+        Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+        mix.put(OperationType.BROWSE, 30);
+        mix.put(OperationType.BUY, 25);
+        mix.put(OperationType.RESERVE, 15);
+        mix.put(OperationType.GROUP_BUY, 10);
+        mix.put(OperationType.CONFIRM, 10);
+        mix.put(OperationType.CANCEL_RESERVATION, 5);
+        mix.put(OperationType.REFUND, 5);
+        return new WorkloadConfig(seed, 8, 2_000, 4, 20, 30, 0, 6, mix);
+    }
+
+    public WorkloadConfig withActors(int actors, int operationsPerActor) {
+        return new WorkloadConfig(seed, actors, operationsPerActor, sessions, rows, seatsPerRow, arrivalRate,
+                maxGroupSize, mix);
+    }
+
+    public WorkloadConfig withHall(int sessions, int rows, int seatsPerRow) {
+        return new WorkloadConfig(seed, actors, operationsPerActor, sessions, rows, seatsPerRow, arrivalRate,
+                maxGroupSize, mix);
+    }
+
+    public WorkloadConfig withArrivalRate(double arrivalRate) {
+        return new WorkloadConfig(seed, actors, operationsPerActor, sessions, rows, seatsPerRow, arrivalRate,
+                maxGroupSize, mix);
+    }
+}
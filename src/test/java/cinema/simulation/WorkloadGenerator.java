@@ -0,0 +1,92 @@
+package cinema.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Детерминированный генератор трасс нагрузки.
+ * <p>
+ * Каждый покупатель получает собственный поток случайных чисел, отщепленный от
+ * зерна, поэтому трасса зависит только от параметров. Популярность сеансов
+ * убывает как 1/(i+1), покупатели чаще выбирают центральные ряды и места,
+ * интервалы между операциями распределены экспоненциально (поток Пуассона).
+ */
+public class WorkloadGenerator {
+    private static final OperationType[] TYPES = OperationType.values();
+
+    private final WorkloadConfig config;
+    private final int[] cumulativeMix;          // Накопленные веса операций по ordinal
+    private final double[] cumulativeSessions;  // Накопленная популярность сеансов
+
+    public WorkloadGenerator(WorkloadConfig config) {
+        this.config = config;
+        this.cumulativeMix = new int[TYPES.length];
+        int total = 0;
+        for (OperationType type : TYPES) {
+            total += config.mix().getOrDefault(type, 0);
+            cumulativeMix[type.ordinal()] = total;
+        }
+        this.cumulativeSessions = new double[config.sessions()];
+        double popularity = 0;
+        for (int i = 0; i < config.sessions(); i++) {
+            popularity += 1.0 / (i + 1);
+            cumulativeSessions[i] = popularity;
+        }
+    }
+
+    public WorkloadTrace generate() {
+        SplittableRandom root = new SplittableRandom(config.seed());
+        double actorRate = config.arrivalRate() / config.actors();
+        List<List<TraceOperation>> actors = new ArrayList<>(config.actors());
+        for (int actor = 0; actor < config.actors(); actor++) {
+            SplittableRandom random = root.split();
+            List<TraceOperation> operations = new ArrayList<>(config.operationsPerActor());
+            long offset = 0;
+            for (int i = 0; i < config.operationsPerActor(); i++) {
+                if (actorRate > 0) {
+                    offset += (long) (-Math.log(1 - random.nextDouble()) / actorRate * 1e9);
+                }
+                operations.add(next(random, offset));
+            }
+            actors.add(operations);
+        }
+        return new WorkloadTrace(config.sessions(), config.rows(), config.seatsPerRow(), actors);
+    }
+
+    private TraceOperation next(SplittableRandom random, long offset) {
+        OperationType type = pickType(random);
+        int session = pickSession(random);
+        int row = centered(random, config.rows());
+        int count = type == OperationType.GROUP_BUY ? 1 + random.nextInt(config.maxGroupSize()) : 1;
+        int seat = Math.min(centered(random, config.seatsPerRow()), Math.max(1, config.seatsPerRow() - count + 1));
+        return new TraceOperation(offset, type, session, row, seat, count, random.nextInt(Integer.MAX_VALUE));
+    }
+
+    private OperationType pickType(SplittableRandom random) {
+        int value = random.nextInt(cumulativeMix[TYPES.length - 1]);
+        for (OperationType type : TYPES) {
+            if (value < cumulativeMix[type.ordinal()]) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Веса операций не покрывают значение " + value);
+    }
+
+    private int pickSession(SplittableRandom random) {
+        double value = random.nextDouble() * cumulativeSessions[cumulativeSessions.length - 1];
+        for (int i = 0; i < cumulativeSessions.length; i++) {
+            if (value < cumulativeSessions[i]) {
+                return i;
+            }
+        }
+        return cumulativeSessions.length - 1;
+    }
+
+    /**
+     * Номер от 1 до {@code size}, смещенный к центру (среднее двух равномерных величин)
+     */
+    private static int centered(SplittableRandom random, int size) {
+        return 1 + (random.nextInt(size) + random.nextInt(size)) / 2;
+    }
+}
@@ -0,0 +1,58 @@
+package cinema.simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Запуск имитации нагрузки из командной строки. Запуск после {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *      cinema.simulation.WorkloadSimulator seed=42 actors=16 ops=5000 sessions=4 rows=20 seats=30 rate=0 \
+ *      [save=trace.txt] [trace=trace.txt]
+ * </pre>
+ * {@code rate} - суммарная интенсивность операций в секунду (0 - без пауз);
+ * {@code save} сохраняет сгенерированную трассу, {@code trace} воспроизводит ранее сохраненную.
+ */
+public class WorkloadSimulator {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Ожидается параметр вида ключ=значение: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        WorkloadTrace trace;
+        if (options.containsKey("trace")) {
+            trace = WorkloadTrace.read(Path.of(options.get("trace")));
+        } else {
+            WorkloadConfig defaults = WorkloadConfig.onSaleNight(Long.parseLong(options.getOrDefault("seed", "42")));
+            WorkloadConfig config = defaults
+                    .withActors(intOption(options, "actors", defaults.actors()),
+                            intOption(options, "ops", defaults.operationsPerActor()))
+                    .withHall(intOption(options, "sessions", defaults.sessions()),
+                            intOption(options, "rows", defaults.rows()),
+                            intOption(options, "seats", defaults.seatsPerRow()))
+                    .withArrivalRate(Double.parseDouble(options.getOrDefault("rate", "0")));
+            trace = new WorkloadGenerator(config).generate();
+            if (options.containsKey("save")) {
+                trace.write(Path.of(options.get("save")));
+            }
+        }
+
+        SimulationReport report = new TraceReplayer().replay(trace);
+        System.out.print(report.format());
+        if (!report.getViolations().isEmpty() || report.getCount(SimulationReport.Outcome.ERROR) > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : defaultValue;
+    }
+}
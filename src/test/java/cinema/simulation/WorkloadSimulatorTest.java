@@ -0,0 +1,137 @@
+package cinema.simulation;
+
+import cinema.model.MovieSession;
+import cinema.model.SeatStatus;
+import cinema.service.TicketManagementSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadSimulatorTest {
+
+    @Test
+    @DisplayName("Одинаковое зерно дает одинаковую трассу, трасса сохраняется и читается без потерь")
+    void testGeneratorIsDeterministic() throws Exception {
+        WorkloadConfig config = WorkloadConfig.onSaleNight(7).withActors(4, 500).withArrivalRate(10_000);
+        WorkloadTrace first = new WorkloadGenerator(config).generate();
+        WorkloadTrace second = new WorkloadGenerator(config).generate();
+        assertEquals(first, second);
+        assertEquals(2_000, first.size());
+        assertNotEquals(first, new WorkloadGenerator(WorkloadConfig.onSaleNight(8).withActors(4, 500)).generate());
+
+        Path file = Files.createTempFile("cinema-trace", ".txt");
+        try {
+            first.write(file);
+            assertEquals(first, WorkloadTrace.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Размер групповой покупки не превышает заданный максимум")
+    void testGroupSizeWithinLimit() {
+        for (int maxGroupSize : new int[]{1, 3}) {
+            WorkloadConfig config = new WorkloadConfig(3, 2, 500, 1, 5, 10, 0, maxGroupSize,
+                    Map.of(OperationType.GROUP_BUY, 1));
+            for (List<TraceOperation> operations : new WorkloadGenerator(config).generate().actors()) {
+                for (TraceOperation operation : operations) {
+                    assertTrue(operation.count() >= 1 && operation.count() <= maxGroupSize, operation.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Поврежденная трасса отклоняется с понятной ошибкой ввода-вывода")
+    void testMalformedTraceRejected() throws Exception {
+        Path file = Files.createTempFile("cinema-trace", ".txt");
+        try {
+            Files.writeString(file, "# cinema-trace v1 1 5 10 2\n5 0 BUY 0 1 1 1 0\n");
+            IOException actorError = assertThrows(IOException.class, () -> WorkloadTrace.read(file));
+            assertTrue(actorError.getMessage().contains("актор 5"), actorError.getMessage());
+
+            Files.writeString(file, "# cinema-trace v1 1 5 10 2\n0 0 FLY 0 1 1 1 0\n");
+            assertThrows(IOException.class, () -> WorkloadTrace.read(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Воспроизведение одним покупателем полностью повторяемо")
+    void testSingleActorReplayIsRepeatable() throws Exception {
+        WorkloadTrace trace = new WorkloadGenerator(WorkloadConfig.onSaleNight(11)
+                .withActors(1, 3_000).withHall(2, 8, 10)).generate();
+
+        SimulationReport first = new TraceReplayer().replay(trace);
+        SimulationReport second = new TraceReplayer().replay(trace);
+        for (OperationType type : OperationType.values()) {
+            for (SimulationReport.Outcome outcome : SimulationReport.Outcome.values()) {
+                assertEquals(first.getCount(type, outcome), second.getCount(type, outcome), type + " " + outcome);
+            }
+        }
+        assertTrue(first.getCount(OperationType.BUY, SimulationReport.Outcome.REJECTED) > 0);
+        assertTrue(first.getViolations().isEmpty(), first.format());
+    }
+
+    @Test
+    @DisplayName("Многопоточный прогон на маленьком зале не нарушает инварианты")
+    void testConcurrentReplayKeepsInvariants() throws Exception {
+        WorkloadTrace trace = new WorkloadGenerator(WorkloadConfig.onSaleNight(42)
+                .withActors(8, 2_000).withHall(3, 6, 8)).generate();
+
+        SimulationReport report = new TraceReplayer().replay(trace);
+        assertEquals(16_000, report.getOperations());
+        assertEquals(0, report.getCount(SimulationReport.Outcome.ERROR), report.format());
+        assertTrue(report.getViolations().isEmpty(), report.format());
+        assertTrue(report.getCount(SimulationReport.Outcome.REJECTED) > 0);
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatency().getValueAtPercentile(99) <= report.getLatency().getMax());
+    }
+
+    @Test
+    @DisplayName("Проверка инвариантов обнаруживает рассогласование места и билетов")
+    void testInvariantViolationDetected() throws Exception {
+        TicketManagementSystem ticketSystem = new TicketManagementSystem();
+        WorkloadTrace trace = new WorkloadGenerator(WorkloadConfig.onSaleNight(3)
+                .withActors(2, 300).withHall(1, 4, 5)).generate();
+        new TraceReplayer().replay(trace, ticketSystem);
+
+        MovieSession session = ticketSystem.getSession(0);
+        int freeSeat = -1;
+        for (int i = 0; i < session.getTheater().getCapacity() && freeSeat < 0; i++) {
+            if (session.getSeatStatus(i) == SeatStatus.FREE) {
+                freeSeat = i;
+            }
+        }
+        assertTrue(freeSeat >= 0);
+        session.setSeatStatus(freeSeat, SeatStatus.SOLD);  // Место продано в обход билетов
+
+        List<String> violations = InvariantChecker.check(ticketSystem, -1);
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).contains("по билетам ожидается FREE"));
+    }
+
+    @Test
+    @DisplayName("Гистограмма задержек хранит значения с относительной точностью около 3%")
+    void testLatencyHistogramPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(Math.abs(median - 50_000_000) <= 50_000_000 * 0.04, "p50=" + median);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p99 - 99_000_000) <= 99_000_000 * 0.04, "p99=" + p99);
+    }
+}
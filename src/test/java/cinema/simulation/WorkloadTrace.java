@@ -0,0 +1,89 @@
+package cinema.simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Трасса нагрузки: параметры залов и последовательности операций покупателей.
+ * <p>
+ * Текстовый формат: строка заголовка {@code # cinema-trace v1 <sessions> <rows> <seatsPerRow> <actors>},
+ * затем по строке на операцию: {@code <actor> <offsetNanos> <type> <session> <row> <seat> <count> <pick>}.
+ */
+public record WorkloadTrace(int sessions, int rows, int seatsPerRow, List<List<TraceOperation>> actors) {
+    private static final String HEADER = "# cinema-trace v1";
+
+    public WorkloadTrace {
+        actors = actors.stream().map(List::copyOf).toList();
+    }
+
+    /**
+     * Общее количество операций
+     */
+    public int size() {
+        return actors.stream().mapToInt(List::size).sum();
+    }
+
+    public void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(HEADER + " " + sessions + " " + rows + " " + seatsPerRow + " " + actors.size());
+            out.newLine();
+            for (int actor = 0; actor < actors.size(); actor++) {
+                for (TraceOperation operation : actors.get(actor)) {
+                    out.write(actor + " " + operation.format());
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    public static WorkloadTrace read(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if (header == null || !header.startsWith(HEADER)) {
+                throw new IOException("Файл не является трассой нагрузки: " + file);
+            }
+            int sessions;
+            int rows;
+            int seatsPerRow;
+            List<List<TraceOperation>> actors = new ArrayList<>();
+            try {
+                String[] fields = header.substring(HEADER.length()).trim().split(" ");
+                sessions = Integer.parseInt(fields[0]);
+                rows = Integer.parseInt(fields[1]);
+                seatsPerRow = Integer.parseInt(fields[2]);
+                for (int actor = Integer.parseInt(fields[3]); actor > 0; actor--) {
+                    actors.add(new ArrayList<>());
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Неверный заголовок трассы нагрузки: " + header, e);
+            }
+
+            String line;
+            int lineNumber = 1;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] operation = line.split(" ");
+                try {
+                    int actor = Integer.parseInt(operation[0]);
+                    if (actor < 0 || actor >= actors.size()) {
+                        throw new IOException("Строка " + lineNumber + ": актор " + actor +
+                                " вне диапазона 0.." + (actors.size() - 1));
+                    }
+                    actors.get(actor).add(TraceOperation.parse(operation, 1));
+                } catch (RuntimeException e) {
+                    throw new IOException("Строка " + lineNumber + ": неверная операция трассы: " + line, e);
+                }
+            }
+            return new WorkloadTrace(sessions, rows, seatsPerRow, actors);
+        }
+    }
+}